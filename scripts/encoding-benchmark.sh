@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Compares response size and latency of one endpoint in each negotiated encoding.
+#
+# Usage: scripts/encoding-benchmark.sh <path> [runs]
+#   e.g. scripts/encoding-benchmark.sh /api/water-quality/district/Kamrup/sources 50
+#
+# Runs against an already running instance (BENCH_URL, default http://localhost:8080). Set
+# AUTH_TOKEN to a bearer token for endpoints that need one. Each combination of format and
+# compression is warmed up with 10 requests first; the reported time is the mean over <runs>.
+# For /api/dashboard/* paths it first checks the response is gzip-compressed and varies by Accept.
+set -euo pipefail
+
+URL_PATH="${1:?usage: $0 <path> [runs]}"
+RUNS="${2:-50}"
+BASE="${BENCH_URL:-http://localhost:8080}"
+AUTH=()
+if [[ -n "${AUTH_TOKEN:-}" ]]; then
+    AUTH=(-H "Authorization: Bearer $AUTH_TOKEN")
+fi
+
+# Prints "<bytes on the wire> <seconds>" for one request
+fetch() {
+    local accept="$1" encoding="$2"
+    curl -s -o /dev/null -w '%{size_download} %{time_total}\n' "${AUTH[@]}" \
+        -H "Accept: $accept" -H "Accept-Encoding: $encoding" "$BASE$URL_PATH"
+}
+
+# Tomcat does not compress responses that carry a strong ETag, which every dashboard response has
+if [[ "$URL_PATH" == /api/dashboard/* ]]; then
+    headers=$(curl -s -D - -o /dev/null "${AUTH[@]}" -H "Accept: application/json" -H "Accept-Encoding: gzip" \
+        "$BASE$URL_PATH" | tr -d '\r')
+    if ! grep -qi '^content-encoding: *gzip' <<< "$headers"; then
+        echo "FAIL: $URL_PATH is not gzip-compressed (strong ETag, or body below server.compression.min-response-size)" >&2
+        echo "$headers" >&2
+        exit 1
+    fi
+    if ! grep -qiE '^vary:(.*[ ,])?accept *(,|$)' <<< "$headers"; then
+        echo "FAIL: $URL_PATH does not send Vary: Accept" >&2
+        echo "$headers" >&2
+        exit 1
+    fi
+fi
+
+printf '%-28s %-9s %10s %10s\n' "format" "encoding" "bytes" "mean ms"
+for accept in application/json application/cbor application/x-jackson-smile; do
+    for encoding in identity gzip; do
+        for _ in $(seq 1 10); do
+            fetch "$accept" "$encoding" > /dev/null
+        done
+        bytes=0 total=0
+        for _ in $(seq 1 "$RUNS"); do
+            read -r bytes seconds < <(fetch "$accept" "$encoding")
+            total=$(awk -v t="$total" -v s="$seconds" 'BEGIN { print t + s }')
+        done
+        printf '%-28s %-9s %10d %10.2f\n' "$accept" "$encoding" "$bytes" \
+            "$(awk -v t="$total" -v n="$RUNS" 'BEGIN { print t * 1000 / n }')"
+    done
+done
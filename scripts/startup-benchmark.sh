@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request for the regular jar and the fast-startup build.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Builds the jar twice (plain, then -Pfast-startup with AOT), extracts the fast one, records an
+# AppCDS archive with a training run, and then starts each variant <runs> times. A run is timed
+# from JVM launch until the first HTTP response on /actuator/health. Datasource settings come
+# from the usual SPRING_DATASOURCE_* environment variables.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="$ROOT/target/startup-benchmark"
+JAR_NAME="arogyam-backend-0.0.1-SNAPSHOT.jar"
+
+cd "$ROOT"
+rm -rf "$WORK" && mkdir -p "$WORK"
+
+echo "Building regular jar..."
+./mvnw -B -q -DskipTests package
+cp "target/$JAR_NAME" "$WORK/regular.jar"
+
+echo "Building fast-startup jar (AOT)..."
+./mvnw -B -q -DskipTests -Pfast-startup package
+java -Djarmode=tools -jar "target/$JAR_NAME" extract --destination "$WORK/fast"
+
+FAST_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast)
+
+echo "Training AppCDS archive..."
+java -XX:ArchiveClassesAtExit="$WORK/fast/app.jsa" -Dspring.context.exit=onRefresh \
+    "${FAST_OPTS[@]}" -Dserver.port="$PORT" -jar "$WORK/fast/$JAR_NAME" > "$WORK/training.log" 2>&1
+
+# Prints milliseconds from launch until the server answers (any status counts as an answer)
+time_to_first_request() {
+    local log="$1"; shift
+    local start end
+    start=$(date +%s%N)
+    java "$@" -Dserver.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before serving a request, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+run_variant() {
+    local name="$1"; shift
+    local total=0 ms
+    for i in $(seq 1 "$RUNS"); do
+        ms=$(time_to_first_request "$WORK/$name-$i.log" "$@")
+        total=$((total + ms))
+        printf '  %-10s run %d: %5d ms\n' "$name" "$i" "$ms"
+    done
+    printf '%-10s average: %5d ms\n' "$name" $((total / RUNS))
+}
+
+run_variant regular -jar "$WORK/regular.jar"
+run_variant fast -XX:SharedArchiveFile="$WORK/fast/app.jsa" -Xshare:auto "${FAST_OPTS[@]}" \
+    -jar "$WORK/fast/$JAR_NAME"
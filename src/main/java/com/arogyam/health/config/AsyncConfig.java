@@ -0,0 +1,34 @@
+package com.arogyam.health.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    public static final String OUTBREAK_ANALYSIS_EXECUTOR = "outbreakAnalysisExecutor";
+
+    @Value("${app.outbreak.analysis.pool-size:2}")
+    private int poolSize;
+
+    @Value("${app.outbreak.analysis.queue-capacity:500}")
+    private int queueCapacity;
+
+    // Dedicated pool for outbreak analysis so report submissions never queue behind
+    // analysis work. The queue is bounded and uses the default abort policy; callers
+    // handle TaskRejectedException (see OutbreakAnalysisDispatcher).
+    @Bean(name = OUTBREAK_ANALYSIS_EXECUTOR)
+    public ThreadPoolTaskExecutor outbreakAnalysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("outbreak-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,101 @@
+package com.arogyam.health.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache. Regions are created here with
+ * explicit bounds; Hibernate evicts entries itself when cached entities are updated or deleted,
+ * and the query cache is invalidated whenever the underlying table changes.
+ *
+ * Spring {@code @Cacheable} caches use a separate Caffeine manager. Dashboard entries are evicted
+ * by {@link com.arogyam.health.service.DashboardCacheEvictionListener}; the TTL is only a backstop.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String VILLAGE_REGION = "villages";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    public static final String DISTRICT_STATISTICS = "districtStatistics";
+    public static final String VILLAGE_STATISTICS = "villageStatistics";
+    public static final String HEALTH_TRENDS = "healthTrends";
+
+    @Value("${app.cache.villages.max-size:20000}")
+    private long villageMaxSize;
+
+    @Value("${app.cache.villages.ttl:PT6H}")
+    private Duration villageTtl;
+
+    @Value("${app.cache.query-results.max-size:5000}")
+    private long queryResultsMaxSize;
+
+    @Value("${app.cache.query-results.ttl:PT1H}")
+    private Duration queryResultsTtl;
+
+    @Value("${app.cache.dashboard.ttl:PT10M}")
+    private Duration dashboardTtl;
+
+    @Bean
+    public org.springframework.cache.CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered below exist; a typo in a cache name fails fast
+        cacheManager.setCacheNames(List.of());
+        registerDashboardCache(cacheManager, DISTRICT_STATISTICS, 1000);
+        registerDashboardCache(cacheManager, VILLAGE_STATISTICS, 20000);
+        registerDashboardCache(cacheManager, HEALTH_TRENDS, 2000);
+        return cacheManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, VILLAGE_REGION, villageMaxSize, villageTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryResultsMaxSize, queryResultsTtl);
+        // Timestamps decide whether cached query results are stale, so they must never be evicted
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+
+    private void registerDashboardCache(CaffeineCacheManager cacheManager, String name, long maxSize) {
+        cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(dashboardTtl)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.arogyam.health.config;
+
+import com.arogyam.health.event.DomainChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. Replicas are
+ * used only while their measured replication lag is within the limit; when none qualifies, reads
+ * fall back to the primary.
+ *
+ * The transaction's read-only flag is set after the transaction manager asks for a connection,
+ * so this must sit behind a LazyConnectionDataSourceProxy (see ReadReplicaConfig).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    // Lag in seconds, or NULL when the replica is not streaming from the primary: a disconnected
+    // WAL receiver has replayed everything it received, yet falls further behind every second.
+    // While streaming, zero when everything received is replayed, so an idle primary does not
+    // look like lag; otherwise the age of the last replayed transaction.
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> usableReplicas = List.of();
+    private volatile long primaryOnlyUntil = System.nanoTime();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || System.nanoTime() - primaryOnlyUntil < 0) {
+            return PRIMARY;
+        }
+        List<String> candidates = usableReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    // Sends all reads to the primary until every usable replica must have the writes committed so far
+    public void holdReadsOnPrimary() {
+        primaryOnlyUntil = System.nanoTime() + maxLag.toNanos();
+    }
+
+    // Hibernate's query and second-level caches hold villages, and refill from whichever database
+    // the next read uses. Held before commit so no read between commit and invalidation hits a replica.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        if (event.type() == DomainChangeEvent.Type.VILLAGE) {
+            holdReadsOnPrimary();
+        }
+    }
+
+    public int getUsableReplicaCount() {
+        return usableReplicas.size();
+    }
+
+    // A replica that cannot be reached or is not streaming counts as lagging
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkReplicationLag() {
+        List<String> usable = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                Double lagSeconds = null;
+                if (result.next()) {
+                    double lag = result.getDouble(1);
+                    lagSeconds = result.wasNull() ? null : lag;
+                }
+                if (lagSeconds == null) {
+                    logger.warn("Replica {} is not streaming from the primary, routing its reads to the primary",
+                            replica.getKey());
+                } else if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    usable.add(replica.getKey());
+                } else {
+                    logger.warn("Replica {} is {}s behind, routing its reads to the primary", replica.getKey(), lagSeconds);
+                }
+            } catch (Exception e) {
+                logger.warn("Replica {} is unavailable, routing its reads to the primary: {}", replica.getKey(), e.getMessage());
+            }
+        }
+        usableReplicas = List.copyOf(usable);
+    }
+
+    // Replica pools are not beans of their own, so they are closed with this one
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
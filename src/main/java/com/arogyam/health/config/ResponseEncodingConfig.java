@@ -0,0 +1,52 @@
+package com.arogyam.health.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// CBOR and Smile converters built from Spring Boot's Jackson builder, so they share the JSON
+// endpoints' modules and settings (ISO dates rather than timestamp arrays, etc.). As beans they
+// replace the Spring MVC defaults of the same type.
+@Configuration
+public class ResponseEncodingConfig {
+
+    // The builder bean is prototype-scoped, so each converter gets its own instance
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // API bodies are negotiated on Accept and share one ETag across formats, so caches must key on
+    // it, 304s included. Tomcat adds Accept-Encoding itself when it compresses.
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> varyByAcceptFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                filterChain.doFilter(request, response);
+            }
+        });
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -1,5 +1,6 @@
 package com.arogyam.health.controller;
 
+import com.arogyam.health.dto.AlertBatchRequestDto;
 import com.arogyam.health.dto.AlertDto;
 import com.arogyam.health.dto.ApiResponseDto;
 import com.arogyam.health.entity.AlertEntity;
@@ -7,9 +8,12 @@ import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.VillageEntity;
 import com.arogyam.health.exception.ResourceNotFoundException;
 import com.arogyam.health.repository.VillageRepository;
+import com.arogyam.health.security.UserPrincipal;
+import com.arogyam.health.service.AlertReadStateService;
 import com.arogyam.health.service.AlertService;
 import com.arogyam.health.service.UserService;
 import jakarta.validation.Valid;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +36,9 @@ public class AlertController {
     @Autowired
     private VillageRepository villageRepository;
 
+    @Autowired
+    private AlertReadStateService alertReadStateService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or hasRole('HEALTH_OFFICIAL')")
     public ResponseEntity<ApiResponseDto<AlertDto>> createAlert(
@@ -51,27 +58,55 @@ public class AlertController {
             alert.setVillage(village);
         }
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponseDto.success("Alert created successfully", toDto(alertService.createAlert(alert))));
+                .body(ApiResponseDto.success("Alert created successfully",
+                        toDto(alertService.createAlert(alert), new RoaringBitmap())));
     }
 
     @GetMapping("/active")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or hasRole('HEALTH_WORKER') or hasRole('HEALTH_OFFICIAL')")
     public ResponseEntity<ApiResponseDto<List<AlertDto>>> getActiveAlerts(
             @RequestParam(required = false) String district,
-            @RequestParam(required = false) Long villageId) {
+            @RequestParam(required = false) Long villageId,
+            Authentication authentication) {
         List<AlertEntity> alerts = villageId != null ? alertService.getAlertsByVillage(villageId)
                 : (district != null ? alertService.getAlertsByDistrict(district) : alertService.getAllActiveAlerts());
+        RoaringBitmap read = alertReadStateService.readAlerts(currentUserId(authentication));
         return ResponseEntity.ok(ApiResponseDto.success("Active alerts retrieved successfully",
-                alerts.stream().map(this::toDto).toList()));
+                alerts.stream().map(alert -> toDto(alert, read)).toList()));
+    }
+
+    @GetMapping("/unread-count")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or hasRole('HEALTH_WORKER') or hasRole('HEALTH_OFFICIAL')")
+    public ResponseEntity<ApiResponseDto<Long>> getUnreadCount(
+            @RequestParam(required = false) Long villageId,
+            Authentication authentication) {
+        long unread = alertService.countUnreadAlerts(villageId, currentUserId(authentication));
+        return ResponseEntity.ok(ApiResponseDto.success("Unread alert count retrieved successfully", unread));
     }
 
     @PutMapping("/{alertId}/read")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or hasRole('HEALTH_WORKER') or hasRole('HEALTH_OFFICIAL')")
-    public ResponseEntity<ApiResponseDto<Void>> markAsRead(@PathVariable Long alertId) {
-        alertService.markAlertAsRead(alertId);
+    public ResponseEntity<ApiResponseDto<Void>> markAsRead(@PathVariable Long alertId,
+                                                           Authentication authentication) {
+        alertService.markAlertAsRead(alertId, currentUserId(authentication));
         return ResponseEntity.ok(ApiResponseDto.success("Alert marked as read"));
     }
 
+    @PutMapping("/batch/read")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or hasRole('HEALTH_WORKER') or hasRole('HEALTH_OFFICIAL')")
+    public ResponseEntity<ApiResponseDto<Integer>> markBatchAsRead(@Valid @RequestBody AlertBatchRequestDto request,
+                                                                   Authentication authentication) {
+        int marked = alertService.markAlertsAsRead(request, currentUserId(authentication));
+        return ResponseEntity.ok(ApiResponseDto.success(marked + " alerts marked as read", marked));
+    }
+
+    @PutMapping("/batch/deactivate")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
+    public ResponseEntity<ApiResponseDto<Integer>> deactivateBatch(@Valid @RequestBody AlertBatchRequestDto request) {
+        int deactivated = alertService.deactivateAlerts(request);
+        return ResponseEntity.ok(ApiResponseDto.success(deactivated + " alerts deactivated", deactivated));
+    }
+
     @PutMapping("/{alertId}/deactivate")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
     public ResponseEntity<ApiResponseDto<Void>> deactivate(@PathVariable Long alertId) {
@@ -79,7 +114,12 @@ public class AlertController {
         return ResponseEntity.ok(ApiResponseDto.success("Alert deactivated"));
     }
 
-    private AlertDto toDto(AlertEntity alert) {
+    private static Long currentUserId(Authentication authentication) {
+        return ((UserPrincipal) authentication.getPrincipal()).getId();
+    }
+
+    // isRead is the current user's own read state
+    private AlertDto toDto(AlertEntity alert, RoaringBitmap read) {
         AlertDto dto = new AlertDto();
         dto.setId(alert.getId());
         dto.setType(alert.getType());
@@ -91,7 +131,7 @@ public class AlertController {
         dto.setCreatedByUserId(alert.getCreatedBy() != null ? alert.getCreatedBy().getId() : null);
         dto.setCreatedByUsername(alert.getCreatedBy() != null ? alert.getCreatedBy().getUsername() : null);
         dto.setIsActive(alert.getIsActive());
-        dto.setIsRead(alert.getIsRead());
+        dto.setIsRead(read.contains(AlertReadStateService.toBitmapId(alert.getId())));
         dto.setCreatedAt(alert.getCreatedAt());
         return dto;
     }
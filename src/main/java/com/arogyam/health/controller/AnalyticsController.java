@@ -0,0 +1,73 @@
+package com.arogyam.health.controller;
+
+import com.arogyam.health.dto.ApiResponseDto;
+import com.arogyam.health.service.AnalyticsSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/analytics/snapshots")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    @Autowired
+    private AnalyticsSnapshotService snapshotService;
+
+    @GetMapping("/manifest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST')")
+    public ResponseEntity<ApiResponseDto<AnalyticsSnapshotService.Manifest>> getManifest() {
+        try {
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Snapshot manifest retrieved successfully", snapshotService.getManifest()));
+        } catch (Exception e) {
+            logger.error("Error reading snapshot manifest", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to retrieve snapshot manifest: " + e.getMessage()));
+        }
+    }
+
+    // path is a file path as listed in the manifest
+    @GetMapping("/files")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST')")
+    public ResponseEntity<?> downloadFile(@RequestParam String path) {
+        try {
+            Path file = snapshotService.resolveSnapshotFile(path);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                    .body((Resource) new FileSystemResource(file));
+        } catch (Exception e) {
+            logger.error("Error serving snapshot file: {}", path, e);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error("Snapshot file not found"));
+        }
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<AnalyticsSnapshotService.Manifest>> runSnapshot() {
+        try {
+            snapshotService.writeSnapshots();
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Snapshot completed", snapshotService.getManifest()));
+        } catch (Exception e) {
+            logger.error("Error running analytics snapshot", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to run snapshot: " + e.getMessage()));
+        }
+    }
+}
@@ -3,8 +3,11 @@ package com.arogyam.health.controller;
 import com.arogyam.health.dto.ApiResponseDto;
 import com.arogyam.health.dto.LoginRequestDto;
 import com.arogyam.health.dto.LoginResponseDto;
+import com.arogyam.health.dto.RefreshTokenRequestDto;
 import com.arogyam.health.dto.UserRegistrationDto;
 import com.arogyam.health.dto.UserResponseDto;
+import com.arogyam.health.exception.ServiceUnavailableException;
+import com.arogyam.health.exception.UnauthorizedException;
 import com.arogyam.health.security.JwtTokenProvider;
 import com.arogyam.health.service.AuthService;
 import com.arogyam.health.service.UserService;
@@ -51,11 +54,20 @@ public class AuthController {
             LoginResponseDto loginResponse = authService.login(loginRequest);
 
             // Prepare response
-            Map<String, Object> response = createLoginResponse(loginResponse.getToken(), loginResponse.getUsername());
+            Map<String, Object> response = createLoginResponse(loginResponse);
 
             logger.info("User {} logged in successfully", loginRequest.getUsername());
             return ResponseEntity.ok(ApiResponseDto.success("Login successful", response));
 
+        } catch (ServiceUnavailableException e) {
+            // Password hashing pool saturated; GlobalExceptionHandler answers 503
+            throw e;
+
+        } catch (UnauthorizedException e) {
+            logger.warn("Failed login attempt for username: {}", loginRequest.getUsername());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponseDto.unauthorized("Invalid credentials"));
+
         } catch (BadCredentialsException e) {
             logger.warn("Failed login attempt for username: {}", loginRequest.getUsername());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -88,6 +100,10 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponseDto.success("User registered successfully", user));
 
+        } catch (ServiceUnavailableException e) {
+            // Password hashing pool saturated; GlobalExceptionHandler answers 503
+            throw e;
+
         } catch (IllegalArgumentException e) {
             logger.warn("Registration validation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -134,27 +150,19 @@ public class AuthController {
 
     @PostMapping("/refresh-token")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> refreshToken(
-            @RequestHeader("Authorization") String authHeader) {
+            @Valid @RequestBody RefreshTokenRequestDto refreshRequest) {
         try {
-            String token = extractTokenFromHeader(authHeader);
-            if (token == null) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponseDto.error("Invalid authorization header format"));
-            }
-
-            if (!tokenProvider.validateToken(token)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(ApiResponseDto.error("Invalid or expired token"));
-            }
+            LoginResponseDto refreshed = authService.refresh(refreshRequest.getRefreshToken());
 
-            String username = tokenProvider.getUsernameFromToken(token);
-            String newToken = tokenProvider.refreshToken(token);
+            Map<String, Object> response = createLoginResponse(refreshed);
 
-            Map<String, Object> response = createLoginResponse(newToken, username);
-
-            logger.info("Token refreshed for user: {}", username);
+            logger.info("Token refreshed for user: {}", refreshed.getUsername());
             return ResponseEntity.ok(ApiResponseDto.success("Token refreshed successfully", response));
 
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponseDto.unauthorized(e.getMessage()));
+
         } catch (Exception e) {
             logger.error("Token refresh error: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -164,16 +172,13 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<ApiResponseDto<Void>> logout(
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequestDto logoutRequest) {
         try {
-            String token = extractTokenFromHeader(authHeader);
-            if (token != null && tokenProvider.validateToken(token)) {
-                String username = tokenProvider.getUsernameFromToken(token);
-
-                // Optionally: Add token to blacklist or perform cleanup
-                // tokenBlacklistService.blacklistToken(token);
-
-                logger.info("User {} logged out successfully", username);
+            String refreshToken = logoutRequest != null && StringUtils.hasText(logoutRequest.getRefreshToken())
+                    ? logoutRequest.getRefreshToken() : null;
+            if (authService.logout(refreshToken, extractTokenFromHeader(authHeader))) {
+                logger.info("Refresh token revoked on logout");
                 return ResponseEntity.ok(ApiResponseDto.success("Logged out successfully"));
             }
 
@@ -194,11 +199,14 @@ public class AuthController {
         return null;
     }
 
-    private Map<String, Object> createLoginResponse(String token, String username) {
+    private Map<String, Object> createLoginResponse(LoginResponseDto loginResponse) {
+        String token = loginResponse.getToken();
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
         response.put("type", "Bearer");
-        response.put("username", username);
+        response.put("username", loginResponse.getUsername());
+        response.put("refreshToken", loginResponse.getRefreshToken());
+        response.put("deviceId", loginResponse.getDeviceId());
 
         // Add token expiration information using your JwtTokenProvider methods
         try {
@@ -1,14 +1,26 @@
 package com.arogyam.health.controller;
 
 import com.arogyam.health.dto.ApiResponseDto;
+import com.arogyam.health.event.DomainChangeEvent;
+import com.arogyam.health.security.UserPrincipal;
+import com.arogyam.health.service.AlertReadStateService;
 import com.arogyam.health.service.DashboardService;
+import com.arogyam.health.service.PublicAdvisorySnapshot;
+import com.arogyam.health.service.ScopeVersionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -17,15 +29,33 @@ public class DashboardController {
 
     private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
 
+    // Clients may store responses but must revalidate with If-None-Match on every poll
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private ScopeVersionRegistry scopeVersions;
+
+    @Autowired
+    private PublicAdvisorySnapshot advisorySnapshot;
+
+    @Autowired
+    private AlertReadStateService alertReadStateService;
+
+    @Value("${app.advisory.max-age:PT30S}")
+    private Duration advisoryMaxAge;
+
     @GetMapping("/stats/overview")
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST') or hasRole('DOCTOR')")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getOverviewStats() {
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getOverviewStats(WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(ScopeVersionRegistry.all()))) {
+            return null;
+        }
         try {
             Map<String, Object> stats = dashboardService.getOverviewStatistics();
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("Statistics retrieved successfully", stats));
         } catch (Exception e) {
             logger.error("Error retrieving overview statistics", e);
@@ -37,10 +67,14 @@ public class DashboardController {
     @GetMapping("/stats/district/{district}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST') or hasRole('DOCTOR')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getDistrictStats(
-            @PathVariable String district) {
+            @PathVariable String district,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(ScopeVersionRegistry.district(district)))) {
+            return null;
+        }
         try {
             Map<String, Object> stats = dashboardService.getDistrictStatistics(district);
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("District statistics retrieved successfully", stats));
         } catch (Exception e) {
             logger.error("Error retrieving district statistics for: {}", district, e);
@@ -52,10 +86,20 @@ public class DashboardController {
     @GetMapping("/stats/village/{villageId}")
     @PreAuthorize("hasRole('HEALTH_WORKER') or hasRole('DOCTOR') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getVillageStats(
-            @PathVariable Long villageId) {
+            @PathVariable Long villageId,
+            Authentication authentication,
+            WebRequest webRequest) {
+        // The unread count is the caller's own, so the user's read state is part of the version
+        Long userId = ((UserPrincipal) authentication.getPrincipal()).getId();
+        String readState = Integer.toHexString(alertReadStateService.readAlerts(userId).hashCode());
+        if (webRequest.checkNotModified(scopeVersions.etag(ScopeVersionRegistry.village(villageId), readState))) {
+            return null;
+        }
         try {
-            Map<String, Object> stats = dashboardService.getVillageStatistics(villageId);
-            return ResponseEntity.ok(
+            // Copy: the shared cached statistics must not carry one user's unread count
+            Map<String, Object> stats = new HashMap<>(dashboardService.getVillageStatistics(villageId));
+            stats.put("unreadAlerts", alertReadStateService.countUnread(userId, villageId));
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("Village statistics retrieved successfully", stats));
         } catch (Exception e) {
             logger.error("Error retrieving village statistics for: {}", villageId, e);
@@ -68,10 +112,14 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST') or hasRole('DOCTOR')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getHealthTrends(
             @RequestParam(defaultValue = "30") int days,
-            @RequestParam(required = false) String district) {
+            @RequestParam(required = false) String district,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(typeScope(DomainChangeEvent.Type.HEALTH_REPORT, district)))) {
+            return null;
+        }
         try {
             Map<String, Object> trends = dashboardService.getHealthTrends(days, district);
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("Health trends retrieved successfully", trends));
         } catch (Exception e) {
             logger.error("Error retrieving health trends", e);
@@ -84,10 +132,23 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST') or hasRole('DOCTOR')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getWaterQualityTrends(
             @RequestParam(defaultValue = "30") int days,
-            @RequestParam(required = false) String district) {
+            @RequestParam(required = false) String district,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "day") String interval,
+            WebRequest webRequest) {
+        DashboardService.TrendInterval trendInterval;
         try {
-            Map<String, Object> trends = dashboardService.getWaterQualityTrends(days, district);
-            return ResponseEntity.ok(
+            trendInterval = DashboardService.TrendInterval.valueOf(interval.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Invalid interval: " + interval + ". Use day, week or month"));
+        }
+        if (webRequest.checkNotModified(scopeVersions.etag(typeScope(DomainChangeEvent.Type.WATER_TEST, district)))) {
+            return null;
+        }
+        try {
+            Map<String, Object> trends = dashboardService.getWaterQualityTrends(days, district, state, trendInterval);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("Water quality trends retrieved successfully", trends));
         } catch (Exception e) {
             logger.error("Error retrieving water quality trends", e);
@@ -97,25 +158,30 @@ public class DashboardController {
     }
 
     @GetMapping("/public/health-advisory")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getPublicHealthAdvisory() {
-        try {
-            Map<String, Object> advisory = dashboardService.getPublicHealthAdvisory();
-            return ResponseEntity.ok(
-                    ApiResponseDto.success("Health advisory retrieved successfully", advisory));
-        } catch (Exception e) {
-            logger.error("Error retrieving public health advisory", e);
-            return ResponseEntity.badRequest()
-                    .body(ApiResponseDto.error("Failed to retrieve health advisory: " + e.getMessage()));
+    public ResponseEntity<byte[]> getPublicHealthAdvisory(WebRequest webRequest) {
+        PublicAdvisorySnapshot.Snapshot snapshot = advisorySnapshot.get();
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
         }
+        // Pre-serialized bytes; no query and no JSON encoding per request
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(advisoryMaxAge).cachePublic()
+                        .staleWhileRevalidate(advisoryMaxAge))
+                .body(snapshot.body());
     }
 
     @GetMapping("/alerts/active")
     @PreAuthorize("hasRole('ADMIN') or hasRole('DOCTOR') or hasRole('HEALTH_WORKER')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getActiveAlerts(
-            @RequestParam(required = false) String district) {
+            @RequestParam(required = false) String district,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(typeScope(DomainChangeEvent.Type.ALERT, district)))) {
+            return null;
+        }
         try {
             Map<String, Object> alerts = dashboardService.getActiveAlerts(district);
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("Active alerts retrieved successfully", alerts));
         } catch (Exception e) {
             logger.error("Error retrieving active alerts", e);
@@ -128,10 +194,14 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST') or hasRole('DOCTOR')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getReportsSummary(
             @RequestParam(defaultValue = "7") int days,
-            @RequestParam(required = false) String district) {
+            @RequestParam(required = false) String district,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(typeScope(DomainChangeEvent.Type.HEALTH_REPORT, district)))) {
+            return null;
+        }
         try {
             Map<String, Object> summary = dashboardService.getReportsSummary(days, district);
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(
                     ApiResponseDto.success("Reports summary retrieved successfully", summary));
         } catch (Exception e) {
             logger.error("Error retrieving reports summary", e);
@@ -139,4 +209,10 @@ public class DashboardController {
                     .body(ApiResponseDto.error("Failed to retrieve reports summary: " + e.getMessage()));
         }
     }
+
+    private static String typeScope(DomainChangeEvent.Type type, String district) {
+        return district != null && !district.isEmpty() ?
+                ScopeVersionRegistry.district(type, district) :
+                ScopeVersionRegistry.all(type);
+    }
 }
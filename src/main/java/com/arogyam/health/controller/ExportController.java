@@ -0,0 +1,67 @@
+package com.arogyam.health.controller;
+
+import com.arogyam.health.dto.ApiResponseDto;
+import com.arogyam.health.entity.UserEntity;
+import com.arogyam.health.service.HealthReportExportService;
+import com.arogyam.health.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    @Autowired
+    private HealthReportExportService exportService;
+
+    @Autowired
+    private UserService userService;
+
+    // Streams the full result set; use instead of the list endpoints for district/state-wide pulls
+    @GetMapping("/health-reports")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ANALYST') or hasRole('HEALTH_OFFICIAL') or hasRole('DOCTOR')")
+    public ResponseEntity<?> exportHealthReports(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String district,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Authentication authentication) {
+        HealthReportExportService.Format exportFormat;
+        HealthReportExportService.ExportScope scope;
+        try {
+            exportFormat = HealthReportExportService.Format.valueOf(format.toUpperCase());
+            UserEntity user = userService.findByUsername(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            scope = exportService.resolveScope(user, district, state, startDate, endDate);
+        } catch (Exception e) {
+            logger.error("Error preparing health report export", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to export reports: " + e.getMessage()));
+        }
+
+        String filename = "health-reports-" + LocalDate.now() + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> exportService.export(scope, exportFormat, gzip, out);
+        logger.info("Health report export started by user: {}", authentication.getName());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
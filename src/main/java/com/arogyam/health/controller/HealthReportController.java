@@ -1,6 +1,7 @@
 package com.arogyam.health.controller;
 
 import com.arogyam.health.dto.ApiResponseDto;
+import com.arogyam.health.dto.GeoPolygonQueryDto;
 import com.arogyam.health.dto.HealthReportDto;
 import com.arogyam.health.entity.HealthReportEntity;
 import com.arogyam.health.entity.UserEntity;
@@ -220,4 +221,64 @@ public class HealthReportController {
                     .body(ApiResponseDto.error("Failed to get report count: " + e.getMessage()));
         }
     }
+
+    @GetMapping("/nearby")
+    @PreAuthorize("hasRole('HEALTH_WORKER') or hasRole('DOCTOR') or hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
+    public ResponseEntity<ApiResponseDto<List<HealthReportEntity>>> getReportsNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String disease,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            List<HealthReportEntity> reports = healthReportService.findReportsWithinRadius(
+                    latitude, longitude, radiusKm, severity, disease, days, limit);
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Nearby reports retrieved successfully", reports));
+        } catch (Exception e) {
+            logger.error("Error retrieving reports near {}, {}", latitude, longitude, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to retrieve nearby reports: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/within-bbox")
+    @PreAuthorize("hasRole('HEALTH_WORKER') or hasRole('DOCTOR') or hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
+    public ResponseEntity<ApiResponseDto<List<HealthReportEntity>>> getReportsWithinBoundingBox(
+            @RequestParam double minLatitude,
+            @RequestParam double minLongitude,
+            @RequestParam double maxLatitude,
+            @RequestParam double maxLongitude,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String disease,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            List<HealthReportEntity> reports = healthReportService.findReportsWithinBoundingBox(
+                    minLatitude, minLongitude, maxLatitude, maxLongitude, severity, disease, days, limit);
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Reports in bounding box retrieved successfully", reports));
+        } catch (Exception e) {
+            logger.error("Error retrieving reports in bounding box", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to retrieve reports in bounding box: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/within-polygon")
+    @PreAuthorize("hasRole('HEALTH_WORKER') or hasRole('DOCTOR') or hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
+    public ResponseEntity<ApiResponseDto<List<HealthReportEntity>>> getReportsWithinPolygon(
+            @Valid @RequestBody GeoPolygonQueryDto query) {
+        try {
+            List<HealthReportEntity> reports = healthReportService.findReportsWithinPolygon(query);
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Reports in polygon retrieved successfully", reports));
+        } catch (Exception e) {
+            logger.error("Error retrieving reports in polygon", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to retrieve reports in polygon: " + e.getMessage()));
+        }
+    }
 }
@@ -1,16 +1,21 @@
 package com.arogyam.health.controller;
 
 import com.arogyam.health.dto.ApiResponseDto;
+import com.arogyam.health.dto.PageResponseDto;
 import com.arogyam.health.dto.UserRegistrationDto;
 import com.arogyam.health.dto.UserResponseDto;
 import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.UserRole;
+import com.arogyam.health.exception.ServiceUnavailableException;
 import com.arogyam.health.security.UserPrincipal;
 import com.arogyam.health.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +31,8 @@ import java.util.Optional;
 public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Autowired
     private UserService userService;
@@ -80,10 +87,11 @@ public class UserController {
 
     @GetMapping("/active")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
-    public ResponseEntity<ApiResponseDto<List<UserResponseDto>>> getActiveUsers() {
+    public ResponseEntity<ApiResponseDto<PageResponseDto<UserResponseDto>>> getActiveUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
         try {
-            // Using the new method from updated UserService
-            List<UserResponseDto> users = userService.getActiveUsers();
+            PageResponseDto<UserResponseDto> users = userService.getActiveUsers(pageRequest(page, size));
             return ResponseEntity.ok(ApiResponseDto.success("Active users retrieved successfully", users));
         } catch (Exception e) {
             logger.error("Error retrieving active users", e);
@@ -94,7 +102,10 @@ public class UserController {
 
     @GetMapping("/role/{role}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
-    public ResponseEntity<ApiResponseDto<List<UserResponseDto>>> getUsersByRole(@PathVariable String role) {
+    public ResponseEntity<ApiResponseDto<PageResponseDto<UserResponseDto>>> getUsersByRole(
+            @PathVariable String role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
         try {
             if (!StringUtils.hasText(role)) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -111,8 +122,8 @@ public class UserController {
                                 String.join(", ", getValidRoles())));
             }
 
-            List<UserResponseDto> users = userService.getUsersByRole(userRole);
-            logger.info("Retrieved {} users with role {}", users.size(), userRole);
+            PageResponseDto<UserResponseDto> users = userService.getUsersByRole(userRole, pageRequest(page, size));
+            logger.info("Retrieved {} of {} users with role {}", users.getContent().size(), users.getTotalElements(), userRole);
             return ResponseEntity.ok(ApiResponseDto.success("Users by role retrieved successfully", users));
 
         } catch (Exception e) {
@@ -124,15 +135,20 @@ public class UserController {
 
     @GetMapping("/district/{district}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
-    public ResponseEntity<ApiResponseDto<List<UserResponseDto>>> getUsersByDistrict(@PathVariable String district) {
+    public ResponseEntity<ApiResponseDto<PageResponseDto<UserResponseDto>>> getUsersByDistrict(
+            @PathVariable String district,
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
         try {
             if (!StringUtils.hasText(district)) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(ApiResponseDto.error("District parameter is required"));
             }
 
-            List<UserResponseDto> users = userService.getUsersByDistrict(district.trim());
-            logger.info("Retrieved {} users from district {}", users.size(), district);
+            PageResponseDto<UserResponseDto> users =
+                    userService.getUsersByDistrict(district.trim(), role, pageRequest(page, size));
+            logger.info("Retrieved {} of {} users from district {}", users.getContent().size(), users.getTotalElements(), district);
             return ResponseEntity.ok(ApiResponseDto.success("Users by district retrieved successfully", users));
 
         } catch (IllegalArgumentException e) {
@@ -268,6 +284,9 @@ public class UserController {
                         .body(ApiResponseDto.error("Invalid old password"));
             }
 
+        } catch (ServiceUnavailableException e) {
+            // Password hashing pool saturated; GlobalExceptionHandler answers 503
+            throw e;
         } catch (Exception e) {
             logger.error("Error changing password for user {}", userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -299,6 +318,10 @@ public class UserController {
     }
 
     // Helper methods
+    private static Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE), Sort.by("fullName", "id"));
+    }
+
     private String[] getValidRoles() {
         return java.util.Arrays.stream(UserRole.values())
                 .map(Enum::name)
@@ -3,13 +3,17 @@ package com.arogyam.health.controller;
 import com.arogyam.health.dto.ApiResponseDto;
 import com.arogyam.health.dto.VillageDto;
 import com.arogyam.health.entity.VillageEntity;
+import com.arogyam.health.event.DomainChangeEvent;
+import com.arogyam.health.service.ScopeVersionRegistry;
 import com.arogyam.health.service.VillageService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,9 +21,14 @@ import java.util.List;
 @RequestMapping("/api/villages")
 public class VillageController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private VillageService villageService;
 
+    @Autowired
+    private ScopeVersionRegistry scopeVersions;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL')")
     public ResponseEntity<ApiResponseDto<VillageDto>> createVillage(@Valid @RequestBody VillageDto dto) {
@@ -30,18 +39,25 @@ public class VillageController {
 
     @GetMapping("/{villageId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL') or hasRole('HEALTH_WORKER') or hasRole('DOCTOR')")
-    public ResponseEntity<ApiResponseDto<VillageDto>> getVillageById(@PathVariable Long villageId) {
-        return ResponseEntity.ok(ApiResponseDto.success("Village retrieved successfully", toDto(villageService.getById(villageId))));
+    public ResponseEntity<ApiResponseDto<VillageDto>> getVillageById(@PathVariable Long villageId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(ScopeVersionRegistry.all(DomainChangeEvent.Type.VILLAGE)))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponseDto.success("Village retrieved successfully", toDto(villageService.getById(villageId))));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEALTH_OFFICIAL') or hasRole('ANALYST') or hasRole('DOCTOR')")
     public ResponseEntity<ApiResponseDto<List<VillageDto>>> getVillages(
             @RequestParam(required = false) String district,
-            @RequestParam(required = false) String state) {
+            @RequestParam(required = false) String state,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(scopeVersions.etag(ScopeVersionRegistry.all(DomainChangeEvent.Type.VILLAGE)))) {
+            return null;
+        }
         List<VillageEntity> villages = district != null ? villageService.getByDistrict(district)
                 : (state != null ? villageService.getByState(state) : villageService.getAll());
-        return ResponseEntity.ok(ApiResponseDto.success("Villages retrieved successfully",
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponseDto.success("Villages retrieved successfully",
                 villages.stream().map(this::toDto).toList()));
     }
 
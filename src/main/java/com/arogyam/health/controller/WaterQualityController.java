@@ -4,6 +4,7 @@ import com.arogyam.health.dto.ApiResponseDto;
 import com.arogyam.health.dto.WaterQualityDto;
 import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.WaterQualityEntity;
+import com.arogyam.health.repository.WaterQualityReportRepository.WaterSourceStatus;
 import com.arogyam.health.service.UserService;
 import com.arogyam.health.service.WaterQualityService;
 import jakarta.validation.Valid;
@@ -234,4 +235,34 @@ public class WaterQualityController {
                     .body(ApiResponseDto.error("No reports found for this village"));
         }
     }
+
+    @GetMapping("/village/{villageId}/sources")
+    @PreAuthorize("hasRole('HEALTH_WORKER') or hasRole('DOCTOR') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<List<WaterSourceStatus>>> getSourceStatusByVillage(
+            @PathVariable Long villageId) {
+        try {
+            List<WaterSourceStatus> sources = waterQualityService.getLatestSourceStatusByVillage(villageId);
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Water source status retrieved successfully", sources));
+        } catch (Exception e) {
+            logger.error("Error getting water source status for village: {}", villageId, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to retrieve water source status: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/district/{district}/sources")
+    @PreAuthorize("hasRole('DOCTOR') or hasRole('ADMIN') or hasRole('ANALYST')")
+    public ResponseEntity<ApiResponseDto<List<WaterSourceStatus>>> getSourceStatusByDistrict(
+            @PathVariable String district) {
+        try {
+            List<WaterSourceStatus> sources = waterQualityService.getLatestSourceStatusByDistrict(district);
+            return ResponseEntity.ok(
+                    ApiResponseDto.success("Water source status retrieved successfully", sources));
+        } catch (Exception e) {
+            logger.error("Error getting water source status for district: {}", district, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to retrieve water source status: " + e.getMessage()));
+        }
+    }
 }
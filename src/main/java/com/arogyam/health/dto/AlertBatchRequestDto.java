@@ -0,0 +1,66 @@
+package com.arogyam.health.dto;
+
+import com.arogyam.health.entity.AlertEntity;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Selects alerts for a batch operation: either explicit ids, or every active alert matching all
+// of the given filters. At least one of the two must be present.
+public class AlertBatchRequestDto {
+
+    @Size(max = 500, message = "At most 500 alert ids per batch")
+    private List<Long> alertIds;
+
+    private String district;
+
+    private AlertEntity.AlertType type;
+
+    private LocalDateTime olderThan;
+
+    // Default constructor
+    public AlertBatchRequestDto() {
+    }
+
+    public boolean hasAlertIds() {
+        return alertIds != null && !alertIds.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return (district != null && !district.isBlank()) || type != null || olderThan != null;
+    }
+
+    // Getters and Setters
+    public List<Long> getAlertIds() {
+        return alertIds;
+    }
+
+    public void setAlertIds(List<Long> alertIds) {
+        this.alertIds = alertIds;
+    }
+
+    public String getDistrict() {
+        return district;
+    }
+
+    public void setDistrict(String district) {
+        this.district = district;
+    }
+
+    public AlertEntity.AlertType getType() {
+        return type;
+    }
+
+    public void setType(AlertEntity.AlertType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getOlderThan() {
+        return olderThan;
+    }
+
+    public void setOlderThan(LocalDateTime olderThan) {
+        this.olderThan = olderThan;
+    }
+}
@@ -0,0 +1,69 @@
+package com.arogyam.health.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class GeoPolygonQueryDto {
+
+    // Polygon ring as [longitude, latitude] pairs (GeoJSON order); closed automatically if needed
+    @NotNull(message = "Polygon coordinates are required")
+    @Size(min = 3, max = 1000, message = "Polygon must have between 3 and 1000 points")
+    private List<@NotNull @Size(min = 2, max = 2, message = "Each point must be [longitude, latitude]") List<Double>> coordinates;
+
+    private String severityLevel;  // "MILD", "MODERATE", "SEVERE"
+
+    private String suspectedDisease;
+
+    @Min(value = 1, message = "Days must be at least 1")
+    @Max(value = 365, message = "Days cannot exceed 365")
+    private Integer days = 30;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 5000, message = "Limit cannot exceed 5000")
+    private Integer limit = 1000;
+
+    // Constructors
+    public GeoPolygonQueryDto() {}
+
+    // Getters and Setters
+    public List<List<Double>> getCoordinates() {
+        return coordinates;
+    }
+
+    public void setCoordinates(List<List<Double>> coordinates) {
+        this.coordinates = coordinates;
+    }
+
+    public String getSeverityLevel() {
+        return severityLevel;
+    }
+
+    public void setSeverityLevel(String severityLevel) {
+        this.severityLevel = severityLevel;
+    }
+
+    public String getSuspectedDisease() {
+        return suspectedDisease;
+    }
+
+    public void setSuspectedDisease(String suspectedDisease) {
+        this.suspectedDisease = suspectedDisease;
+    }
+
+    public Integer getDays() {
+        return days;
+    }
+
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
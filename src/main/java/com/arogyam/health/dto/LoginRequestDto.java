@@ -15,6 +15,10 @@ public class LoginRequestDto {
     @Size(min = 8, message = "Password must be at least 8 characters")
     private String password;
 
+    // Optional; identifies the device's refresh token. A new one is issued when absent.
+    @Size(max = 64, message = "Device ID must be at most 64 characters")
+    private String deviceId;
+
     // Default constructor
     public LoginRequestDto() {
     }
@@ -42,6 +46,14 @@ public class LoginRequestDto {
         this.password = password;
     }
 
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
     // Builder pattern implementation
     public static LoginRequestDtoBuilder builder() {
         return new LoginRequestDtoBuilder();
@@ -14,6 +14,8 @@ public class LoginResponseDto {
     private String state;
     private Long villageId;
     private String villageName;
+    private String refreshToken;
+    private String deviceId;
     private LocalDateTime timestamp;
 
     // Default constructor
@@ -110,6 +112,22 @@ public class LoginResponseDto {
         this.villageName = villageName;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
@@ -133,6 +151,8 @@ public class LoginResponseDto {
         private String state;
         private Long villageId;
         private String villageName;
+        private String refreshToken;
+        private String deviceId;
 
         public LoginResponseDtoBuilder token(String token) {
             this.token = token;
@@ -179,9 +199,22 @@ public class LoginResponseDto {
             return this;
         }
 
+        public LoginResponseDtoBuilder refreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+            return this;
+        }
+
+        public LoginResponseDtoBuilder deviceId(String deviceId) {
+            this.deviceId = deviceId;
+            return this;
+        }
+
         public LoginResponseDto build() {
-            return new LoginResponseDto(token, userId, username, fullName, role,
+            LoginResponseDto dto = new LoginResponseDto(token, userId, username, fullName, role,
                     district, state, villageId, villageName);
+            dto.setRefreshToken(refreshToken);
+            dto.setDeviceId(deviceId);
+            return dto;
         }
     }
 
@@ -204,6 +237,8 @@ public class LoginResponseDto {
     public String toString() {
         return "LoginResponseDto{" +
                 "token='" + "[PROTECTED]" + '\'' +
+                ", refreshToken='" + "[PROTECTED]" + '\'' +
+                ", deviceId='" + deviceId + '\'' +
                 ", userId=" + userId +
                 ", username='" + username + '\'' +
                 ", fullName='" + fullName + '\'' +
@@ -0,0 +1,31 @@
+package com.arogyam.health.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class RefreshTokenRequestDto {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    // Default constructor
+    public RefreshTokenRequestDto() {
+    }
+
+    public RefreshTokenRequestDto(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRequestDto{refreshToken='[PROTECTED]'}";
+    }
+}
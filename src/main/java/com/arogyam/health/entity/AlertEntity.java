@@ -2,6 +2,7 @@ package com.arogyam.health.entity;
 
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -11,7 +12,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_village_id", columnList = "village_id"),
         @Index(name = "idx_created_by", columnList = "created_by"),
         @Index(name = "idx_is_active", columnList = "isActive"),
-        @Index(name = "idx_priority", columnList = "priority")
+        @Index(name = "idx_priority", columnList = "priority"),
+        @Index(name = "idx_alerts_village_active", columnList = "village_id, isActive")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class AlertEntity {
@@ -45,6 +47,7 @@ public class AlertEntity {
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT true")
     private Boolean isActive = true;
 
+    // Legacy global flag, no longer set; read state is per user (see AlertReadStateService)
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT false")
     private Boolean isRead = false;
 
@@ -52,6 +55,11 @@ public class AlertEntity {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Null on rows written before the column existed
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // Constructors
     public AlertEntity() {}
 
@@ -146,6 +154,14 @@ public class AlertEntity {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public enum AlertType {
         OUTBREAK_WARNING,
         WATER_CONTAMINATION,
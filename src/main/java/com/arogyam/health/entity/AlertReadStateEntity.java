@@ -0,0 +1,50 @@
+package com.arogyam.health.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// The alerts one user has read, as a serialized Roaring bitmap of alert ids. One small row per
+// user instead of one row per (user, alert) pair.
+@Entity
+@Table(name = "alert_read_state")
+public class AlertReadStateEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "read_alerts", nullable = false, columnDefinition = "bytea")
+    private byte[] readAlerts;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public AlertReadStateEntity() {}
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public byte[] getReadAlerts() {
+        return readAlerts;
+    }
+
+    public void setReadAlerts(byte[] readAlerts) {
+        this.readAlerts = readAlerts;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.arogyam.health.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Last cluster alert raised for a centroid grid cell. Shared by all nodes so that a persisting
+// cluster is announced once per re-alert window, not once per node or per restart.
+// Written with the database clock through ClusterAlertRepository.claim.
+@Entity
+@Table(name = "cluster_alerts")
+public class ClusterAlertEntity {
+
+    @Id
+    @Column(name = "cell_key")
+    private Long cellKey;
+
+    @Column(name = "case_count", nullable = false)
+    private Integer caseCount;
+
+    @Column(name = "alerted_at", nullable = false)
+    private LocalDateTime alertedAt;
+
+    // Constructors
+    public ClusterAlertEntity() {}
+
+    // Getters and Setters
+    public Long getCellKey() {
+        return cellKey;
+    }
+
+    public void setCellKey(Long cellKey) {
+        this.cellKey = cellKey;
+    }
+
+    public Integer getCaseCount() {
+        return caseCount;
+    }
+
+    public void setCaseCount(Integer caseCount) {
+        this.caseCount = caseCount;
+    }
+
+    public LocalDateTime getAlertedAt() {
+        return alertedAt;
+    }
+
+    public void setAlertedAt(LocalDateTime alertedAt) {
+        this.alertedAt = alertedAt;
+    }
+}
@@ -22,7 +22,9 @@ import java.util.List;
         @Index(name = "idx_severity_level", columnList = "severityLevel"),
         @Index(name = "idx_is_verified", columnList = "isVerified"),
         @Index(name = "idx_suspected_disease", columnList = "suspectedDisease"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_created_at", columnList = "created_at"),
+        // Village dashboard counts (totals, recent, per severity) without touching the table
+        @Index(name = "idx_health_reports_village_date", columnList = "village_id, reportDate, severityLevel")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class HealthReportEntity {
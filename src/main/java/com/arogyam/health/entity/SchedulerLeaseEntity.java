@@ -0,0 +1,97 @@
+package com.arogyam.health.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One shard of a cluster-wide scheduled job. A node owns the shard until lease_until; the lease
+// is renewed while it works, so a shard held by a node that died becomes claimable again.
+// All timestamps are written with the database clock.
+@Entity
+@Table(name = "scheduler_leases", indexes = {
+        @Index(name = "idx_scheduler_leases_job", columnList = "job, shard")
+})
+public class SchedulerLeaseEntity {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 50)
+    private String job;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(length = 100)
+    private String owner;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public SchedulerLeaseEntity() {}
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public Integer getShard() {
+        return shard;
+    }
+
+    public void setShard(Integer shard) {
+        this.shard = shard;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,118 @@
+package com.arogyam.health.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "symptom_baselines", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_symptom_baseline_village_symptom", columnNames = {"village_id", "symptom"})
+})
+public class SymptomBaselineEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "village_id", nullable = false)
+    private Long villageId;
+
+    @Column(nullable = false, length = 100)
+    private String symptom;
+
+    // EWMA of the daily case rate per 1000 population
+    @Column(nullable = false)
+    private Double mean;
+
+    @Column(nullable = false)
+    private Double variance;
+
+    @Column(nullable = false)
+    private Double cusum;
+
+    @Column(name = "last_folded_date", nullable = false)
+    private LocalDate lastFoldedDate;
+
+    @Column(name = "observed_days", nullable = false)
+    private Integer observedDays;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public SymptomBaselineEntity() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVillageId() {
+        return villageId;
+    }
+
+    public void setVillageId(Long villageId) {
+        this.villageId = villageId;
+    }
+
+    public String getSymptom() {
+        return symptom;
+    }
+
+    public void setSymptom(String symptom) {
+        this.symptom = symptom;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getVariance() {
+        return variance;
+    }
+
+    public void setVariance(Double variance) {
+        this.variance = variance;
+    }
+
+    public Double getCusum() {
+        return cusum;
+    }
+
+    public void setCusum(Double cusum) {
+        this.cusum = cusum;
+    }
+
+    public LocalDate getLastFoldedDate() {
+        return lastFoldedDate;
+    }
+
+    public void setLastFoldedDate(LocalDate lastFoldedDate) {
+        this.lastFoldedDate = lastFoldedDate;
+    }
+
+    public Integer getObservedDays() {
+        return observedDays;
+    }
+
+    public void setObservedDays(Integer observedDays) {
+        this.observedDays = observedDays;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -7,7 +7,10 @@ import org.springframework.data.annotation.LastModifiedDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_active", columnList = "role, isActive"),
+        @Index(name = "idx_users_district_role", columnList = "district, role")
+})
 public class UserEntity {
 
     @Id
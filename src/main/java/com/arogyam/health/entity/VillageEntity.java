@@ -1,6 +1,8 @@
 package com.arogyam.health.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -9,6 +11,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "villages")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "villages")
 public class VillageEntity {
 
     @Id
@@ -3,6 +3,7 @@ package com.arogyam.health.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal; // <-- NEW IMPORT
@@ -14,7 +15,10 @@ import java.time.LocalDateTime;
         @Index(name = "idx_tester_id", columnList = "tester_id"),
         @Index(name = "idx_quality_status", columnList = "qualityStatus"),
         @Index(name = "idx_test_date", columnList = "testDate"),
-        @Index(name = "idx_source_type", columnList = "sourceType")
+        @Index(name = "idx_source_type", columnList = "sourceType"),
+        // Latest test per village, and per (village, source) for the DISTINCT ON status query
+        @Index(name = "idx_water_quality_village_latest", columnList = "village_id, testDate DESC, id DESC"),
+        @Index(name = "idx_water_quality_source_latest", columnList = "village_id, sourceName, testDate DESC, id DESC")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class WaterQualityEntity {
@@ -88,6 +92,11 @@ public class WaterQualityEntity {
     @Column(nullable = false, updatable = false)
     private LocalDateTime testDate;
 
+    // Null on rows written before the column existed
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // Constructors
     public WaterQualityEntity() {}
 
@@ -223,6 +232,14 @@ public class WaterQualityEntity {
         this.testDate = testDate;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public boolean isSafe(){
         return this.qualityStatus == QualityStatus.SAFE;
     }
@@ -0,0 +1,42 @@
+package com.arogyam.health.event;
+
+import com.arogyam.health.entity.AlertEntity;
+import com.arogyam.health.entity.VillageEntity;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published after reports, water tests, alerts or villages are written, carrying the villages and
+ * districts whose derived views (dashboard caches, ETags) are now stale. Listeners act after commit.
+ */
+public record DomainChangeEvent(Type type, Set<Long> villageIds, Set<String> districts, boolean highPriorityAlert) {
+
+    public enum Type {
+        HEALTH_REPORT,
+        WATER_TEST,
+        ALERT,
+        VILLAGE
+    }
+
+    public static DomainChangeEvent of(Type type, VillageEntity... villages) {
+        Set<Long> villageIds = new HashSet<>();
+        Set<String> districts = new HashSet<>();
+        for (VillageEntity village : villages) {
+            if (village != null) {
+                villageIds.add(village.getId());
+                if (village.getDistrict() != null) {
+                    districts.add(village.getDistrict());
+                }
+            }
+        }
+        return new DomainChangeEvent(type, villageIds, districts, false);
+    }
+
+    public static DomainChangeEvent ofAlert(AlertEntity alert) {
+        DomainChangeEvent scoped = of(Type.ALERT, alert.getVillage());
+        boolean highPriority = alert.getPriority() == AlertEntity.AlertPriority.HIGH
+                || alert.getPriority() == AlertEntity.AlertPriority.CRITICAL;
+        return new DomainChangeEvent(Type.ALERT, scoped.villageIds(), scoped.districts(), highPriority);
+    }
+}
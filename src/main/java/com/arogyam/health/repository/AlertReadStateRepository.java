@@ -0,0 +1,27 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.AlertReadStateEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AlertReadStateRepository extends JpaRepository<AlertReadStateEntity, Long> {
+
+    // Creates the user's row with an empty bitmap, so concurrent first reads can both lock it
+    @Modifying
+    @Query(value = "INSERT INTO alert_read_state (user_id, read_alerts, updated_at) " +
+            "VALUES (:userId, CAST('' AS bytea), now()) ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int createIfAbsent(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AlertReadStateEntity s WHERE s.userId = :userId")
+    Optional<AlertReadStateEntity> lockByUserId(@Param("userId") Long userId);
+}
@@ -2,11 +2,13 @@ package com.arogyam.health.repository;
 
 import com.arogyam.health.entity.AlertEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,6 +26,9 @@ public interface AlertRepository extends JpaRepository<AlertEntity, Long> {
     // Find active alerts by priority
     List<AlertEntity> findByPriorityAndIsActiveTrue(AlertEntity.AlertPriority priority);
 
+    // Stable order, so the public advisory renders identically on every node
+    List<AlertEntity> findByPriorityAndIsActiveTrueOrderByIdAsc(AlertEntity.AlertPriority priority);
+
     // Find active alerts by district (sorted by most recent)
     @Query("SELECT a FROM AlertEntity a WHERE a.village.district = :district " +
             "AND a.isActive = true ORDER BY a.createdAt DESC")
@@ -36,8 +41,37 @@ public interface AlertRepository extends JpaRepository<AlertEntity, Long> {
             @Param("priorities") List<AlertEntity.AlertPriority> priorities,
             @Param("startDate") LocalDateTime startDate);
 
-    // Count unread alerts for a village
-    @Query("SELECT COUNT(a) FROM AlertEntity a WHERE a.village.id = :villageId " +
-            "AND a.isActive = true AND a.isRead = false")
-    Long countUnreadAlertsByVillage(@Param("villageId") Long villageId);
+    // Ids of active alerts; read state per user is kept in AlertReadStateService
+    @Query("SELECT a.id FROM AlertEntity a WHERE a.isActive = true")
+    List<Long> findActiveIds();
+
+    @Query("SELECT a.id FROM AlertEntity a WHERE a.village.id = :villageId AND a.isActive = true")
+    List<Long> findActiveIdsByVillage(@Param("villageId") Long villageId);
+
+    // Batch operations: the active alerts selected, with what change events need to know about them
+    @Query("SELECT a.id AS id, v.id AS villageId, v.district AS district, a.priority AS priority " +
+            "FROM AlertEntity a LEFT JOIN a.village v WHERE a.isActive = true AND a.id IN :ids")
+    List<AlertScope> findActiveScopesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.id AS id, v.id AS villageId, v.district AS district, a.priority AS priority " +
+            "FROM AlertEntity a LEFT JOIN a.village v WHERE a.isActive = true " +
+            "AND (:district IS NULL OR v.district = :district) " +
+            "AND (:type IS NULL OR a.type = :type) " +
+            "AND (:olderThan IS NULL OR a.createdAt < :olderThan)")
+    List<AlertScope> findActiveScopesByFilter(@Param("district") String district,
+                                              @Param("type") AlertEntity.AlertType type,
+                                              @Param("olderThan") LocalDateTime olderThan);
+
+    // Bulk updates bypass auditing, so updated_at is set here for the analytics snapshots
+    @Modifying
+    @Query("UPDATE AlertEntity a SET a.isActive = false, a.updatedAt = LOCAL DATETIME " +
+            "WHERE a.id IN :ids AND a.isActive = true")
+    int deactivateByIds(@Param("ids") Collection<Long> ids);
+
+    interface AlertScope {
+        Long getId();
+        Long getVillageId();
+        String getDistrict();
+        AlertEntity.AlertPriority getPriority();
+    }
 }
\ No newline at end of file
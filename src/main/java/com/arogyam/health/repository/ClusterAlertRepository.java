@@ -0,0 +1,28 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.ClusterAlertEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClusterAlertRepository extends JpaRepository<ClusterAlertEntity, Long> {
+
+    // Returns 1 when the caller may alert for the cell: it was never alerted, its last alert is
+    // older than the re-alert window, or the cluster has grown by half since. The conflicting row
+    // is locked, so concurrent callers on any node cannot both win the same cell.
+    @Modifying
+    @Query(value = "INSERT INTO cluster_alerts (cell_key, case_count, alerted_at) VALUES (:cellKey, :caseCount, now()) " +
+            "ON CONFLICT (cell_key) DO UPDATE SET case_count = EXCLUDED.case_count, alerted_at = EXCLUDED.alerted_at " +
+            "WHERE cluster_alerts.alerted_at < now() - make_interval(hours => :realertHours) " +
+            "OR EXCLUDED.case_count >= cluster_alerts.case_count * 3 / 2",
+            nativeQuery = true)
+    int claim(@Param("cellKey") long cellKey, @Param("caseCount") int caseCount, @Param("realertHours") int realertHours);
+
+    @Modifying
+    @Query(value = "DELETE FROM cluster_alerts WHERE alerted_at < now() - make_interval(hours => :realertHours)",
+            nativeQuery = true)
+    int deleteExpired(@Param("realertHours") int realertHours);
+}
@@ -2,13 +2,16 @@ package com.arogyam.health.repository;
 
 import com.arogyam.health.entity.HealthReportEntity;
 import com.arogyam.health.entity.VillageEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface HealthReportRepository extends JpaRepository<HealthReportEntity, Long> {
@@ -156,4 +159,140 @@ public interface HealthReportRepository extends JpaRepository<HealthReportEntity
     List<HealthReportEntity> findBySeverityLevelInAndReportDateAfter(
             @Param("severities") List<HealthReportEntity.SeverityLevel> severities,
             @Param("startDate") LocalDate startDate);
-}
\ No newline at end of file
+
+    // Find reports within a radius (meters) of a point, nearest first (uses geography GiST index)
+    @Query(value = "SELECT * FROM health_reports h WHERE " +
+            "ST_DWithin(h.location_coordinates::geography, " +
+            "ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography, :radiusMeters) " +
+            "AND h.report_date >= :startDate " +
+            "AND (CAST(:severity AS text) IS NULL OR h.severity_level = CAST(:severity AS text)) " +
+            "AND (CAST(:disease AS text) IS NULL OR h.suspected_disease ILIKE CONCAT('%', CAST(:disease AS text), '%')) " +
+            "ORDER BY ST_Distance(h.location_coordinates::geography, " +
+            "ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography) " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<HealthReportEntity> findWithinRadius(
+            @Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("radiusMeters") double radiusMeters,
+            @Param("startDate") LocalDate startDate,
+            @Param("severity") String severity,
+            @Param("disease") String disease,
+            @Param("limit") int limit);
+
+    // Find reports inside a bounding box (index-assisted && operator)
+    @Query(value = "SELECT * FROM health_reports h WHERE " +
+            "h.location_coordinates && ST_MakeEnvelope(:minLongitude, :minLatitude, :maxLongitude, :maxLatitude, 4326) " +
+            "AND h.report_date >= :startDate " +
+            "AND (CAST(:severity AS text) IS NULL OR h.severity_level = CAST(:severity AS text)) " +
+            "AND (CAST(:disease AS text) IS NULL OR h.suspected_disease ILIKE CONCAT('%', CAST(:disease AS text), '%')) " +
+            "ORDER BY h.report_date DESC LIMIT :limit",
+            nativeQuery = true)
+    List<HealthReportEntity> findWithinBoundingBox(
+            @Param("minLatitude") double minLatitude,
+            @Param("minLongitude") double minLongitude,
+            @Param("maxLatitude") double maxLatitude,
+            @Param("maxLongitude") double maxLongitude,
+            @Param("startDate") LocalDate startDate,
+            @Param("severity") String severity,
+            @Param("disease") String disease,
+            @Param("limit") int limit);
+
+    // Find reports inside a polygon given as WKT in SRID 4326 (ST_Intersects uses the GiST index)
+    @Query(value = "SELECT * FROM health_reports h WHERE " +
+            "ST_Intersects(h.location_coordinates, ST_GeomFromText(:polygonWkt, 4326)) " +
+            "AND h.report_date >= :startDate " +
+            "AND (CAST(:severity AS text) IS NULL OR h.severity_level = CAST(:severity AS text)) " +
+            "AND (CAST(:disease AS text) IS NULL OR h.suspected_disease ILIKE CONCAT('%', CAST(:disease AS text), '%')) " +
+            "ORDER BY h.report_date DESC LIMIT :limit",
+            nativeQuery = true)
+    List<HealthReportEntity> findWithinPolygon(
+            @Param("polygonWkt") String polygonWkt,
+            @Param("startDate") LocalDate startDate,
+            @Param("severity") String severity,
+            @Param("disease") String disease,
+            @Param("limit") int limit);
+
+    // Stream report locations for the cluster index; reports without GPS fall back to the village location
+    @Query(value = "SELECT h.id AS id, h.village_id AS villageId, " +
+            "COALESCE(ST_Y(h.location_coordinates), CAST(v.latitude AS double precision)) AS latitude, " +
+            "COALESCE(ST_X(h.location_coordinates), CAST(v.longitude AS double precision)) AS longitude, " +
+            "(h.report_date - DATE '1970-01-01') AS epochDay " +
+            "FROM health_reports h JOIN villages v ON v.id = h.village_id " +
+            "WHERE h.id > :afterId AND h.report_date >= :startDate " +
+            "AND (h.location_coordinates IS NOT NULL OR v.latitude IS NOT NULL) " +
+            "ORDER BY h.id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "5000"))
+    Stream<ReportPoint> streamReportPoints(
+            @Param("afterId") long afterId,
+            @Param("startDate") LocalDate startDate);
+
+    interface ReportPoint {
+        Number getId();
+        Number getVillageId();
+        Number getLatitude();
+        Number getLongitude();
+        Number getEpochDay();
+    }
+
+    // Daily case counts per (village, symptom) for folding into the symptom baselines
+    @Query(value = "SELECT h.village_id AS villageId, LOWER(TRIM(s.symptom)) AS symptom, COUNT(*) AS cases " +
+            "FROM health_reports h CROSS JOIN LATERAL jsonb_array_elements_text(h.symptoms) AS s(symptom) " +
+            "WHERE h.report_date = :day " +
+            "GROUP BY h.village_id, LOWER(TRIM(s.symptom))",
+            nativeQuery = true)
+    List<SymptomCount> countSymptomsByVillageOnDate(@Param("day") LocalDate day);
+
+    interface SymptomCount {
+        Number getVillageId();
+        String getSymptom();
+        Number getCases();
+    }
+
+    // Forward-only cursor over reports for exports; rows are projections so nothing accumulates in the session
+    @Query(value = "SELECT h.id AS id, CAST(h.report_date AS text) AS reportDate, " +
+            "TO_CHAR(h.report_time, 'HH24:MI:SS') AS reportTime, " +
+            "v.id AS villageId, v.name AS villageName, v.district AS district, v.state AS state, " +
+            "h.patient_name AS patientName, h.patient_age AS patientAge, h.patient_gender AS patientGender, " +
+            "CAST(h.symptoms AS text) AS symptoms, h.severity_level AS severityLevel, " +
+            "h.suspected_disease AS suspectedDisease, h.is_verified AS verified, " +
+            "ST_Y(h.location_coordinates) AS latitude, ST_X(h.location_coordinates) AS longitude, " +
+            "TO_CHAR(h.created_at, 'YYYY-MM-DD\"T\"HH24:MI:SS') AS createdAt " +
+            "FROM health_reports h JOIN villages v ON v.id = h.village_id " +
+            "WHERE (CAST(:district AS text) IS NULL OR v.district = :district) " +
+            "AND (CAST(:state AS text) IS NULL OR v.state = :state) " +
+            "AND (CAST(:startDate AS date) IS NULL OR h.report_date >= :startDate) " +
+            "AND (CAST(:endDate AS date) IS NULL OR h.report_date <= :endDate) " +
+            "ORDER BY h.id",
+            nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<ExportRow> streamForExport(
+            @Param("district") String district,
+            @Param("state") String state,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    interface ExportRow {
+        Number getId();
+        String getReportDate();
+        String getReportTime();
+        Number getVillageId();
+        String getVillageName();
+        String getDistrict();
+        String getState();
+        String getPatientName();
+        Number getPatientAge();
+        String getPatientGender();
+        String getSymptoms();
+        String getSeverityLevel();
+        String getSuspectedDisease();
+        Boolean getVerified();
+        Number getLatitude();
+        Number getLongitude();
+        String getCreatedAt();
+    }
+}
@@ -0,0 +1,38 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    // Claim the oldest pending events; rows locked by another dispatcher are skipped
+    @Query(value = "SELECT * FROM outbox_events WHERE processed_at IS NULL " +
+            "AND attempts < :maxAttempts ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventEntity> lockNextBatch(@Param("maxAttempts") int maxAttempts,
+                                          @Param("limit") int limit);
+
+    // Claim a single pending event (used when retrying a failed batch one event at a time)
+    @Query(value = "SELECT * FROM outbox_events WHERE id = :id AND processed_at IS NULL " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<OutboxEventEntity> lockPendingById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE OutboxEventEntity e SET e.attempts = e.attempts + 1, e.lastError = :error " +
+            "WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEventEntity e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
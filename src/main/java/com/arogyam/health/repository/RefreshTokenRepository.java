@@ -0,0 +1,43 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.RefreshTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    Optional<RefreshTokenEntity> findByPreviousTokenHash(String tokenHash);
+
+    Optional<RefreshTokenEntity> findByUserIdAndDeviceId(Long userId, String deviceId);
+
+    List<RefreshTokenEntity> findByUserIdOrderByLastUsedAtDesc(Long userId);
+
+    // Compare-and-set rotation: exactly one of two concurrent refreshes with the same token wins
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity t SET t.tokenHash = :newHash, t.previousTokenHash = :oldHash, " +
+            "t.expiresAt = :expiresAt, t.lastUsedAt = :now " +
+            "WHERE t.id = :id AND t.tokenHash = :oldHash AND t.expiresAt > :now")
+    int rotate(@Param("id") Long id,
+               @Param("oldHash") String oldHash,
+               @Param("newHash") String newHash,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenEntity t WHERE t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,27 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long> {
+
+    boolean existsByJti(String jti);
+
+    // Revocations still in force; used to rebuild the in-memory list
+    List<RevokedTokenEntity> findByExpiresAtAfterOrderByIdAsc(LocalDateTime now);
+
+    // Revocations recorded since the last poll, including those made on other nodes
+    List<RevokedTokenEntity> findByRevokedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedTokenEntity t WHERE t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
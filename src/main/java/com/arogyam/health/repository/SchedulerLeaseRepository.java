@@ -0,0 +1,51 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.SchedulerLeaseEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLeaseEntity, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_leases (name, job, shard) " +
+            "SELECT :job || ':' || s, :job, s FROM generate_series(0, :shardCount - 1) s " +
+            "ON CONFLICT (name) DO NOTHING",
+            nativeQuery = true)
+    int createShards(@Param("job") String job, @Param("shardCount") int shardCount);
+
+    // A shard is due when it was last completed long enough ago, or was never completed and its
+    // lease has run out (never claimed, or the owner stopped renewing). Locked rows are skipped.
+    @Query(value = "SELECT * FROM scheduler_leases WHERE job = :job AND shard < :shardCount AND (" +
+            "(completed_at IS NOT NULL AND claimed_at < now() - make_interval(secs => :minIntervalSeconds)) " +
+            "OR (completed_at IS NULL AND (lease_until IS NULL OR lease_until < now()))) " +
+            "ORDER BY claimed_at NULLS FIRST LIMIT 1 FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<SchedulerLeaseEntity> lockNextDueShard(@Param("job") String job,
+                                                    @Param("shardCount") int shardCount,
+                                                    @Param("minIntervalSeconds") long minIntervalSeconds);
+
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, claimed_at = now(), completed_at = NULL, " +
+            "lease_until = now() + make_interval(secs => :leaseSeconds) WHERE name = :name",
+            nativeQuery = true)
+    int claim(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    // Heartbeat; fails once the lease has expired and another node may have taken the shard
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET lease_until = now() + make_interval(secs => :leaseSeconds) " +
+            "WHERE name = :name AND owner = :owner AND completed_at IS NULL AND lease_until >= now()",
+            nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET completed_at = now(), lease_until = now() " +
+            "WHERE name = :name AND owner = :owner AND completed_at IS NULL",
+            nativeQuery = true)
+    int complete(@Param("name") String name, @Param("owner") String owner);
+}
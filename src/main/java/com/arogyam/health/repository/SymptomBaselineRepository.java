@@ -0,0 +1,31 @@
+package com.arogyam.health.repository;
+
+import com.arogyam.health.entity.SymptomBaselineEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface SymptomBaselineRepository extends JpaRepository<SymptomBaselineEntity, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO symptom_baselines " +
+            "(village_id, symptom, mean, variance, cusum, last_folded_date, observed_days, updated_at) " +
+            "VALUES (:villageId, :symptom, :mean, :variance, :cusum, :lastFoldedDate, :observedDays, NOW()) " +
+            "ON CONFLICT (village_id, symptom) DO UPDATE SET " +
+            "mean = EXCLUDED.mean, variance = EXCLUDED.variance, cusum = EXCLUDED.cusum, " +
+            "last_folded_date = EXCLUDED.last_folded_date, observed_days = EXCLUDED.observed_days, " +
+            "updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    void upsert(@Param("villageId") Long villageId,
+                @Param("symptom") String symptom,
+                @Param("mean") double mean,
+                @Param("variance") double variance,
+                @Param("cusum") double cusum,
+                @Param("lastFoldedDate") LocalDate lastFoldedDate,
+                @Param("observedDays") int observedDays);
+}
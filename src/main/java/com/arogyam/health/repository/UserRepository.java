@@ -1,7 +1,10 @@
 package com.arogyam.health.repository;
 
+import com.arogyam.health.dto.UserResponseDto;
 import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.UserRole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -35,6 +38,30 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT COUNT(u) FROM UserEntity u WHERE u.role = :role AND u.district = :district")
     long countByRoleAndDistrict(@Param("role") UserRole role, @Param("district") String district);
 
+    // Paged listings project straight into the response DTO: no entities, no lazy village loads
+    String USER_SUMMARY_SELECT = "SELECT new com.arogyam.health.dto.UserResponseDto(u.id, u.username, u.fullName, " +
+            "u.phoneNumber, u.email, u.role, u.district, u.state, v.id, v.name, u.isActive, u.createdAt, u.lastLogin) " +
+            "FROM UserEntity u LEFT JOIN u.village v ";
+
+    @Query(value = USER_SUMMARY_SELECT + "WHERE u.role = :role AND u.isActive = true",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u WHERE u.role = :role AND u.isActive = true")
+    Page<UserResponseDto> findActiveUserSummariesByRole(@Param("role") UserRole role, Pageable pageable);
+
+    @Query(value = USER_SUMMARY_SELECT + "WHERE u.district = :district AND u.isActive = true",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u WHERE u.district = :district AND u.isActive = true")
+    Page<UserResponseDto> findActiveUserSummariesByDistrict(@Param("district") String district, Pageable pageable);
+
+    @Query(value = USER_SUMMARY_SELECT + "WHERE u.district = :district AND u.role = :role AND u.isActive = true",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u " +
+                    "WHERE u.district = :district AND u.role = :role AND u.isActive = true")
+    Page<UserResponseDto> findActiveUserSummariesByDistrictAndRole(@Param("district") String district,
+                                                                   @Param("role") UserRole role,
+                                                                   Pageable pageable);
+
+    @Query(value = USER_SUMMARY_SELECT + "WHERE u.isActive = true",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u WHERE u.isActive = true")
+    Page<UserResponseDto> findActiveUserSummaries(Pageable pageable);
+
     Optional<UserEntity> findFirstByRoleOrderByIdAsc(UserRole role);
 
     Optional<UserEntity> findFirstByOrderByIdAsc();
@@ -1,25 +1,75 @@
 package com.arogyam.health.repository;
 
 import com.arogyam.health.entity.VillageEntity;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VillageRepository extends JpaRepository<VillageEntity, Long> {
+    // Lookups below go through the query cache: it stores the matching ids, and the villages
+    // themselves come from the second-level cache. Any write to villages invalidates them.
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<VillageEntity> findByNameAndDistrict(String name, String district);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<VillageEntity> findByDistrict(String district);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<VillageEntity> findByState(String state);
 
     @Query("SELECT v FROM VillageEntity v WHERE v.district = :district ORDER BY v.name")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<VillageEntity> findByDistrictOrderByName(@Param("district") String district);
 
     boolean existsByNameAndDistrict(String name, String district);
 
+    // Villages in one shard of the scheduled outbreak sweep
+    @Query("SELECT v.id FROM VillageEntity v WHERE MOD(v.id, :shardCount) = :shard ORDER BY v.id")
+    List<Long> findIdsByShard(@Param("shard") int shard, @Param("shardCount") int shardCount);
+
+    // Everything the village dashboard shows, in one round trip. Each CTE is an aggregate over a
+    // (village_id, ...) index, so no report, test or alert rows are loaded into the application.
+    @Query(value = "WITH reports AS (" +
+            "  SELECT COUNT(*) AS total, " +
+            "         COUNT(*) FILTER (WHERE h.report_date >= :recentSince) AS recent, " +
+            "         COUNT(*) FILTER (WHERE h.severity_level = 'MILD') AS mild, " +
+            "         COUNT(*) FILTER (WHERE h.severity_level = 'MODERATE') AS moderate, " +
+            "         COUNT(*) FILTER (WHERE h.severity_level = 'SEVERE') AS severe " +
+            "  FROM health_reports h WHERE h.village_id = :villageId), " +
+            "alerts AS (" +
+            "  SELECT COUNT(*) AS active " +
+            "  FROM alerts a WHERE a.village_id = :villageId AND a.is_active = true), " +
+            "latest_water AS (" +
+            "  SELECT w.quality_status FROM water_quality_reports w WHERE w.village_id = :villageId " +
+            "  ORDER BY w.test_date DESC, w.id DESC LIMIT 1) " +
+            "SELECT v.name AS villageName, v.district AS district, v.state AS state, " +
+            "r.total AS totalReports, r.recent AS recentReports, " +
+            "r.mild AS mildReports, r.moderate AS moderateReports, r.severe AS severeReports, " +
+            "a.active AS activeAlerts, " +
+            "(SELECT quality_status FROM latest_water) AS latestWaterQuality " +
+            "FROM villages v CROSS JOIN reports r CROSS JOIN alerts a WHERE v.id = :villageId",
+            nativeQuery = true)
+    Optional<VillageStatistics> findVillageStatistics(@Param("villageId") Long villageId,
+                                                      @Param("recentSince") LocalDate recentSince);
+
+    interface VillageStatistics {
+        String getVillageName();
+        String getDistrict();
+        String getState();
+        Number getTotalReports();
+        Number getRecentReports();
+        Number getMildReports();
+        Number getModerateReports();
+        Number getSevereReports();
+        Number getActiveAlerts();
+        String getLatestWaterQuality();
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WaterQualityReportRepository extends JpaRepository<WaterQualityEntity, Long> {
@@ -35,4 +36,59 @@ public interface WaterQualityReportRepository extends JpaRepository<WaterQuality
                                  @Param("status") WaterQualityEntity.QualityStatus status);
 
     Long countByVillageId(Long villageId);
+
+    Optional<WaterQualityEntity> findFirstByVillageIdOrderByTestDateDescIdDesc(Long villageId);
+
+    String SOURCE_STATUS_SELECT = "SELECT DISTINCT ON (w.village_id, w.source_name) " +
+            "w.id AS reportId, w.village_id AS villageId, v.name AS villageName, v.district AS district, " +
+            "w.source_name AS sourceName, w.source_type AS sourceType, w.quality_status AS qualityStatus, " +
+            "w.ph_level AS phLevel, w.turbidity AS turbidity, w.bacterial_count AS bacterialCount, " +
+            "TO_CHAR(w.test_date, 'YYYY-MM-DD\"T\"HH24:MI:SS') AS testDate " +
+            "FROM water_quality_reports w JOIN villages v ON v.id = w.village_id ";
+
+    String SOURCE_STATUS_ORDER = " ORDER BY w.village_id, w.source_name, w.test_date DESC, w.id DESC";
+
+    // Most recent test of every water source in a village, read from idx_water_quality_source_latest
+    @Query(value = SOURCE_STATUS_SELECT + "WHERE w.village_id = :villageId" + SOURCE_STATUS_ORDER,
+            nativeQuery = true)
+    List<WaterSourceStatus> findLatestPerSourceByVillage(@Param("villageId") Long villageId);
+
+    @Query(value = SOURCE_STATUS_SELECT + "WHERE v.district = :district" + SOURCE_STATUS_ORDER,
+            nativeQuery = true)
+    List<WaterSourceStatus> findLatestPerSourceByDistrict(@Param("district") String district);
+
+    // Test counts per (period, quality status, source type); bucket is 'day', 'week' or 'month'
+    @Query(value = "SELECT TO_CHAR(date_trunc(:bucket, w.test_date), 'YYYY-MM-DD') AS bucket, " +
+            "w.quality_status AS qualityStatus, w.source_type AS sourceType, COUNT(*) AS tests " +
+            "FROM water_quality_reports w JOIN villages v ON v.id = w.village_id " +
+            "WHERE w.test_date >= :startDate " +
+            "AND (CAST(:district AS VARCHAR) IS NULL OR v.district = :district) " +
+            "AND (CAST(:state AS VARCHAR) IS NULL OR v.state = :state) " +
+            "GROUP BY 1, 2, 3 ORDER BY 1",
+            nativeQuery = true)
+    List<TrendBucket> aggregateTrends(@Param("bucket") String bucket,
+                                      @Param("startDate") LocalDateTime startDate,
+                                      @Param("district") String district,
+                                      @Param("state") String state);
+
+    interface TrendBucket {
+        String getBucket();
+        String getQualityStatus();
+        String getSourceType();
+        Number getTests();
+    }
+
+    interface WaterSourceStatus {
+        Number getReportId();
+        Number getVillageId();
+        String getVillageName();
+        String getDistrict();
+        String getSourceName();
+        String getSourceType();
+        String getQualityStatus();
+        Number getPhLevel();
+        Number getTurbidity();
+        Number getBacterialCount();
+        String getTestDate();
+    }
 }
@@ -1,8 +1,10 @@
 package com.arogyam.health.security;
 
+import com.arogyam.health.entity.UserRole;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
@@ -20,17 +23,22 @@ public class JwtTokenProvider {
     @Value("${app.jwt.secret:mySecretKey123456789012345678901234567890}")
     private String jwtSecret;
 
-    @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${app.jwt.expiration:900000}") // 15 minutes in milliseconds; clients renew with a refresh token
     private Long jwtExpirationMs;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     private SecretKey getSigningKey(){
         // Use StandardCharsets.UTF_8 instead of getBytes() for consistency
         return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
     }
 
     public String generateToken(Authentication authentication){
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateToken((UserPrincipal) authentication.getPrincipal());
+    }
 
+    public String generateToken(UserPrincipal userPrincipal) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userPrincipal.getId());
         claims.put("role", userPrincipal.getRole().name());
@@ -43,6 +51,7 @@ public class JwtTokenProvider {
         return Jwts.builder()
                 .claims(claims) // Use claims() instead of setClaims() in newer version
                 .subject(subject) // Use subject() instead of setSubject()
+                .id(UUID.randomUUID().toString()) // jti, used to revoke individual tokens
                 .issuedAt(new Date()) // Use issuedAt() instead of setIssuedAt()
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs)) // Use expiration() instead of setExpiration()
                 .signWith(getSigningKey()) // signWith() method signature is same
@@ -94,6 +103,40 @@ public class JwtTokenProvider {
         }
     }
 
+    // Verifies the token once and builds the principal from its claims, without touching the database
+    public UserPrincipal getPrincipalFromToken(String token) {
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            Object userIdClaim = claims.get("userId");
+            Long userId = userIdClaim instanceof Number number ? number.longValue() : Long.valueOf(userIdClaim.toString());
+            long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() / 1000 : 0;
+            if (tokenRevocationList.isRevoked(claims.getId(), userId, issuedAt)) {
+                return null;
+            }
+
+            Object fullName = claims.get("fullName");
+            return UserPrincipal.fromClaims(
+                    userId,
+                    claims.getSubject(),
+                    fullName != null ? fullName.toString() : null,
+                    UserRole.valueOf(claims.get("role").toString()));
+        } catch (JwtException | IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    public String getTokenIdFromToken(String token) {
+        return getClaimFromToken(token, Claims::getId);
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
+
     public boolean isTokenExpired(String token){
         try {
             final Date expiration = getExpirationDateFromToken(token);
@@ -133,6 +176,7 @@ public class JwtTokenProvider {
             claimsMap.remove("sub");
             claimsMap.remove("iat");
             claimsMap.remove("exp");
+            claimsMap.remove("jti");
             return generateToken(claimsMap, claims.getSubject());
         } catch (Exception e) {
             throw new RuntimeException("Cannot refresh invalid token", e);
@@ -0,0 +1,174 @@
+package com.arogyam.health.security;
+
+import com.arogyam.health.dto.ApiResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs before JWT authentication so rejected requests cost no user lookup or BCrypt. Requests are
+ * first shed by priority when too many are in progress, then checked against the matching route's
+ * per-client budget. CRITICAL routes skip both checks.
+ *
+ * TOKEN-keyed routes verify the bearer token's signature before keying by its user; anything else
+ * is keyed by client address, so made-up tokens cannot mint fresh buckets.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private RateLimiter rateLimiter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private List<CompiledRoute> routes;
+    private Counter limitedCounter;
+    private Counter shedCounter;
+
+    private record CompiledRoute(int index, PathPattern pattern, RateLimitProperties.Route route,
+                                 long emissionIntervalNanos) {
+    }
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new RateLimiter(properties.getMaxBuckets());
+        PathPatternParser parser = new PathPatternParser();
+        List<CompiledRoute> compiled = new ArrayList<>();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            long interval = route.getLimit() > 0 ? route.getPeriod().toNanos() / route.getLimit() : 0;
+            compiled.add(new CompiledRoute(compiled.size(), parser.parse(route.getPattern()), route, interval));
+        }
+        routes = List.copyOf(compiled);
+
+        limitedCounter = Counter.builder("http.ratelimit.rejected")
+                .description("Requests rejected because the client exceeded its route budget")
+                .register(meterRegistry);
+        shedCounter = Counter.builder("http.ratelimit.shed")
+                .description("Requests shed because too many requests were in progress")
+                .register(meterRegistry);
+        Gauge.builder("http.ratelimit.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests currently in progress")
+                .register(meterRegistry);
+        Gauge.builder("http.ratelimit.buckets", rateLimiter, RateLimiter::size)
+                .description("Client buckets currently held")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompiledRoute match = match(request);
+        RateLimitProperties.Priority priority = match != null ? match.route().getPriority()
+                : RateLimitProperties.Priority.NORMAL;
+
+        if (priority == RateLimitProperties.Priority.CRITICAL) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int limit = priority == RateLimitProperties.Priority.LOW ? properties.getLowPriorityMaxInFlight()
+                : properties.getNormalPriorityMaxInFlight();
+        if (inFlight.get() >= limit) {
+            shedCounter.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, please retry shortly");
+            return;
+        }
+
+        if (match != null && match.emissionIntervalNanos() > 0) {
+            String key = match.index() + ":" + clientKey(request, match.route().getKey());
+            long waitNanos = rateLimiter.tryAcquire(key, match.emissionIntervalNanos(),
+                    match.route().getBurst(), System.nanoTime());
+            if (waitNanos > 0) {
+                limitedCounter.increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests, please retry later");
+                return;
+            }
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        rateLimiter.evictIdle(System.nanoTime());
+    }
+
+    private CompiledRoute match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRoute route : routes) {
+            String method = route.route().getMethod();
+            if ((!StringUtils.hasText(method) || method.equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.TOKEN) {
+            String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+                // Null for forged, expired or revoked tokens
+                UserPrincipal principal = tokenProvider.getPrincipalFromToken(bearerToken.substring(7));
+                if (principal != null) {
+                    return "u:" + principal.getId();
+                }
+            }
+        }
+        // Behind a load balancer, server.forward-headers-strategy makes this the real client address
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponseDto.error(message));
+    }
+}
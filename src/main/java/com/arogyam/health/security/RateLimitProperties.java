@@ -0,0 +1,152 @@
+package com.arogyam.health.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route request budgets and load-shedding thresholds under {@code app.rate-limit}. Routes are
+ * matched in order and the first match wins; unmatched requests are NORMAL priority with no budget.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum Priority {
+        // Never limited or shed (field report submissions)
+        CRITICAL,
+        NORMAL,
+        // Shed first under load
+        LOW
+    }
+
+    public enum KeyType {
+        // Client address
+        IP,
+        // User of a valid bearer token, client address otherwise
+        TOKEN
+    }
+
+    private boolean enabled = true;
+
+    // Shedding starts when this many requests are already in progress
+    private int lowPriorityMaxInFlight = 100;
+    private int normalPriorityMaxInFlight = 200;
+
+    // Buckets kept at once across all routes; new clients are limited while the map is full
+    private int maxBuckets = 100_000;
+
+    private List<Route> routes = new ArrayList<>();
+
+    public static class Route {
+        private String pattern;
+        // Any method when empty
+        private String method;
+        // Requests allowed per period; 0 means no budget
+        private long limit;
+        private Duration period = Duration.ofMinutes(1);
+        // Requests allowed back to back; defaults to the limit
+        private long burst;
+        private KeyType key = KeyType.IP;
+        private Priority priority = Priority.NORMAL;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        public void setLimit(long limit) {
+            this.limit = limit;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+
+        public long getBurst() {
+            return burst > 0 ? burst : limit;
+        }
+
+        public void setBurst(long burst) {
+            this.burst = burst;
+        }
+
+        public KeyType getKey() {
+            return key;
+        }
+
+        public void setKey(KeyType key) {
+            this.key = key;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void setPriority(Priority priority) {
+            this.priority = priority;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLowPriorityMaxInFlight() {
+        return lowPriorityMaxInFlight;
+    }
+
+    public void setLowPriorityMaxInFlight(int lowPriorityMaxInFlight) {
+        this.lowPriorityMaxInFlight = lowPriorityMaxInFlight;
+    }
+
+    public int getNormalPriorityMaxInFlight() {
+        return normalPriorityMaxInFlight;
+    }
+
+    public void setNormalPriorityMaxInFlight(int normalPriorityMaxInFlight) {
+        this.normalPriorityMaxInFlight = normalPriorityMaxInFlight;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+}
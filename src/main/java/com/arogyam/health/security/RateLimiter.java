@@ -0,0 +1,68 @@
+package com.arogyam.health.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, stored as a single "theoretical arrival time" (GCRA). A request is allowed
+ * while the bucket's arrival time is at most {@code burst} emission intervals ahead of now, and
+ * each allowed request pushes it one interval further. State is one AtomicLong per key, updated
+ * with a CAS loop, so there are no locks on the request path.
+ *
+ * Times are {@link System#nanoTime()} values and are only ever compared by subtraction.
+ *
+ * The number of buckets is capped. Once full, Caffeine evicts by frequency, so a flood of one-off
+ * keys displaces its own buckets rather than those of returning clients, and new keys are never
+ * refused. A client whose bucket is dropped starts again from a full bucket.
+ */
+public class RateLimiter {
+
+    private final Cache<String, AtomicLong> arrivalTimes;
+
+    public RateLimiter() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public RateLimiter(int maxKeys) {
+        // Evictions are cheap and run on the request thread, so the cap holds without a background task
+        arrivalTimes = Caffeine.newBuilder().maximumSize(maxKeys).executor(Runnable::run).build();
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, long emissionIntervalNanos, long burst, long now) {
+        long tolerance = emissionIntervalNanos * burst;
+        AtomicLong arrivalTime = arrivalTimes.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrivalTime.get();
+            long base = current - now > 0 ? current : now;
+            long next = base + emissionIntervalNanos;
+            long ahead = next - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have fully refilled; an absent key behaves exactly like a full bucket.
+     * A request racing with removal may start from a full bucket, which only errs towards allowing.
+     */
+    public void evictIdle(long now) {
+        arrivalTimes.asMap().values().removeIf(arrivalTime -> arrivalTime.get() - now <= 0);
+    }
+
+    // Runs pending evictions first, so the count respects the cap
+    public long size() {
+        arrivalTimes.cleanUp();
+        return arrivalTimes.estimatedSize();
+    }
+}
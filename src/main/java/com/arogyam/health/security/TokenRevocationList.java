@@ -0,0 +1,142 @@
+package com.arogyam.health.security;
+
+import com.arogyam.health.entity.RevokedTokenEntity;
+import com.arogyam.health.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens, persisted in revoked_tokens and mirrored in memory for the JWT filter.
+ * Most lookups stop at the Bloom filter; only its rare positives consult the exact set. Users can
+ * also be revoked as a whole, which rejects every token issued up to that moment.
+ *
+ * Other nodes' revocations arrive by polling the table. The whole list is rebuilt periodically so
+ * entries drop out once the tokens they cover have expired.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // Re-read a little history on every poll so rows committed late are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private record State(BloomFilter filter, Set<String> tokenIds, Map<Long, Long> userRevokedBefore) {
+    }
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwt.expiration:900000}")
+    private long accessTokenExpirationMs;
+
+    @Value("${app.security.revocation.expected-tokens:100000}")
+    private int expectedTokens;
+
+    @Value("${app.security.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile State state;
+    private volatile LocalDateTime lastPoll = LocalDateTime.now();
+
+    public boolean isRevoked(String tokenId, Long userId, long issuedAtSeconds) {
+        State current = state;
+        if (current == null) {
+            return false;
+        }
+        if (userId != null && !current.userRevokedBefore().isEmpty()) {
+            Long revokedBefore = current.userRevokedBefore().get(userId);
+            if (revokedBefore != null && issuedAtSeconds <= revokedBefore) {
+                return true;
+            }
+        }
+        return tokenId != null && current.filter().mightContain(tokenId) && current.tokenIds().contains(tokenId);
+    }
+
+    @Transactional
+    public void revokeToken(String tokenId, Long userId, LocalDateTime expiresAt) {
+        if (tokenId == null || revokedTokenRepository.existsByJti(tokenId)) {
+            return;
+        }
+        RevokedTokenEntity entity = new RevokedTokenEntity();
+        entity.setJti(tokenId);
+        entity.setUserId(userId);
+        entity.setRevokedAt(LocalDateTime.now());
+        entity.setExpiresAt(expiresAt);
+        apply(revokedTokenRepository.save(entity));
+    }
+
+    @Transactional
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        RevokedTokenEntity entity = new RevokedTokenEntity();
+        entity.setUserId(userId);
+        entity.setRevokedAt(now);
+        entity.setExpiresAt(now.plus(Duration.ofMillis(accessTokenExpirationMs)));
+        apply(revokedTokenRepository.save(entity));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-interval-ms:5000}")
+    public void poll() {
+        if (state == null) {
+            return;
+        }
+        LocalDateTime pollStart = LocalDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfter(lastPoll.minus(POLL_OVERLAP)).forEach(this::apply);
+        lastPoll = pollStart;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.security.revocation.rebuild-interval-ms:3600000}")
+    @Transactional
+    public void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        revokedTokenRepository.deleteExpiredBefore(start);
+        List<RevokedTokenEntity> active = revokedTokenRepository.findByExpiresAtAfterOrderByIdAsc(start);
+
+        // Leave headroom so the false-positive rate holds until the next rebuild
+        State rebuilt = new State(new BloomFilter(Math.max(expectedTokens, active.size() * 2), falsePositiveRate),
+                ConcurrentHashMap.newKeySet(), new ConcurrentHashMap<>());
+        active.forEach(entity -> apply(rebuilt, entity));
+        state = rebuilt;
+        lastPoll = start;
+        logger.debug("Rebuilt token revocation list with {} entries", active.size());
+    }
+
+    private void apply(RevokedTokenEntity entity) {
+        State current = state;
+        if (current != null) {
+            apply(current, entity);
+        }
+    }
+
+    private static void apply(State target, RevokedTokenEntity entity) {
+        if (entity.getJti() != null) {
+            target.tokenIds().add(entity.getJti());
+            target.filter().add(entity.getJti());
+        } else if (entity.getUserId() != null) {
+            long revokedAt = entity.getRevokedAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+            target.userRevokedBefore().merge(entity.getUserId(), revokedAt, Math::max);
+        }
+    }
+}
@@ -50,6 +50,14 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    // Principal for a verified access token; the password is never needed after login
+    public static UserPrincipal fromClaims(Long id, String username, String fullName, UserRole role) {
+        List<GrantedAuthority> authorities =
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+
+        return new UserPrincipal(id, username, null, fullName, role, true, authorities);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,54 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.AlertEntity;
+import com.arogyam.health.entity.OutboxEventEntity;
+import com.arogyam.health.repository.UserRepository;
+import com.arogyam.health.repository.VillageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Runs first so notifier handlers registered later see the alert row in the same transaction
+@Component
+@Order(0)
+public class AlertOutboxHandler implements OutboxEventHandler {
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private VillageRepository villageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    public boolean supports(OutboxEventEntity.EventType eventType) {
+        return eventType == OutboxEventEntity.EventType.ALERT_REQUESTED;
+    }
+
+    @Override
+    public void handle(OutboxEventEntity event) {
+        Map<String, Object> payload = event.getPayload();
+
+        AlertEntity alert = new AlertEntity();
+        alert.setType(AlertEntity.AlertType.valueOf((String) payload.get("type")));
+        alert.setTitle((String) payload.get("title"));
+        alert.setMessage((String) payload.get("message"));
+        alert.setPriority(AlertEntity.AlertPriority.valueOf((String) payload.get("priority")));
+
+        Long villageId = toLong(payload.get("villageId"));
+        if (villageId != null) {
+            alert.setVillage(villageRepository.getReferenceById(villageId));
+        }
+        alert.setCreatedBy(userRepository.getReferenceById(toLong(payload.get("createdById"))));
+
+        alertService.createAlert(alert);
+    }
+
+    private Long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.AlertReadStateEntity;
+import com.arogyam.health.event.DomainChangeEvent;
+import com.arogyam.health.repository.AlertReadStateRepository;
+import com.arogyam.health.repository.AlertRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Per-user alert read state. Each user's read alerts are a Roaring bitmap of alert ids, stored
+ * in alert_read_state and cached here; active alerts per village are cached the same way. An
+ * unread count is then the cardinality of (active alerts AND NOT read alerts).
+ *
+ * Cached bitmaps are never modified in place: writes build a new bitmap and swap it in after
+ * commit. Other nodes see a user's reads once their cached copy expires.
+ */
+@Service
+@Transactional
+public class AlertReadStateService {
+
+    // Key for the active alerts of all villages, including alerts without a village
+    private static final long ALL_VILLAGES = -1L;
+
+    @Autowired
+    private AlertReadStateRepository alertReadStateRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Value("${app.alerts.read-state.cache-size:10000}")
+    private long cacheSize;
+
+    @Value("${app.alerts.read-state.cache-ttl:PT1M}")
+    private Duration cacheTtl;
+
+    private Cache<Long, RoaringBitmap> readByUser;
+    private Cache<Long, RoaringBitmap> activeByVillage;
+
+    @PostConstruct
+    void initCaches() {
+        readByUser = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(cacheTtl).build();
+        activeByVillage = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(cacheTtl).build();
+    }
+
+    // Shared, read-only bitmap; callers must not modify it
+    @Transactional(readOnly = true)
+    public RoaringBitmap readAlerts(Long userId) {
+        return readByUser.get(userId, id -> alertReadStateRepository.findById(id)
+                .map(state -> deserialize(state.getReadAlerts()))
+                .orElseGet(RoaringBitmap::new));
+    }
+
+    // Active alerts of the village (or of every village when villageId is null) the user has not read
+    @Transactional(readOnly = true)
+    public long countUnread(Long userId, Long villageId) {
+        return RoaringBitmap.andNotCardinality(activeAlerts(villageId), readAlerts(userId));
+    }
+
+    public void markRead(Long userId, Collection<Long> alertIds) {
+        if (alertIds.isEmpty()) {
+            return;
+        }
+        alertReadStateRepository.createIfAbsent(userId);
+        AlertReadStateEntity state = alertReadStateRepository.lockByUserId(userId)
+                .orElseThrow(() -> new IllegalStateException("Read state row missing for user " + userId));
+
+        RoaringBitmap read = deserialize(state.getReadAlerts());
+        alertIds.forEach(alertId -> read.add(toBitmapId(alertId)));
+        prune(read, activeAlerts(null));
+        read.runOptimize();
+
+        state.setReadAlerts(serialize(read));
+        state.setUpdatedAt(LocalDateTime.now());
+        alertReadStateRepository.save(state);
+
+        afterCommit(() -> readByUser.put(userId, read));
+    }
+
+    // Active-alert bitmaps go stale when alerts are created or deactivated
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        if (event.type() == DomainChangeEvent.Type.ALERT) {
+            activeByVillage.invalidate(ALL_VILLAGES);
+            activeByVillage.invalidateAll(event.villageIds());
+        }
+    }
+
+    // Forget deactivated alerts so the bitmap stays as small as the set of active alerts. The cached
+    // active set may predate alerts created on other nodes; ids are ascending, so only ids up to
+    // its highest are pruned and newer ones are kept until a later snapshot covers them.
+    private static void prune(RoaringBitmap read, RoaringBitmap active) {
+        if (active.isEmpty()) {
+            return;
+        }
+        read.andNot(RoaringBitmap.andNot(read, active, 0L, active.last() + 1L));
+    }
+
+    private RoaringBitmap activeAlerts(Long villageId) {
+        return activeByVillage.get(villageId != null ? villageId : ALL_VILLAGES, this::loadActiveAlerts);
+    }
+
+    private RoaringBitmap loadActiveAlerts(Long villageId) {
+        RoaringBitmap active = new RoaringBitmap();
+        (villageId == ALL_VILLAGES ? alertRepository.findActiveIds() : alertRepository.findActiveIdsByVillage(villageId))
+                .forEach(alertId -> active.add(toBitmapId(alertId)));
+        active.runOptimize();
+        return active;
+    }
+
+    // Alert ids come from an identity column and stay far below 2^31
+    public static int toBitmapId(Long alertId) {
+        return Math.toIntExact(alertId);
+    }
+
+    private static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        if (bytes != null && bytes.length > 0) {
+            try {
+                bitmap.deserialize(ByteBuffer.wrap(bytes));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return bitmap;
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(bitmap.serializedSizeInBytes());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            bitmap.serialize(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
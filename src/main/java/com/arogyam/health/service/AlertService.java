@@ -1,25 +1,41 @@
 package com.arogyam.health.service;
 
+import com.arogyam.health.dto.AlertBatchRequestDto;
 import com.arogyam.health.entity.AlertEntity;
+import com.arogyam.health.event.DomainChangeEvent;
 import com.arogyam.health.exception.ResourceNotFoundException;
 import com.arogyam.health.repository.AlertRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Transactional
 public class AlertService {
 
+    // Keeps each UPDATE ... WHERE id IN (...) to a bounded parameter list
+    private static final int BULK_UPDATE_CHUNK = 1000;
+
     @Autowired
     private AlertRepository alertRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AlertReadStateService alertReadStateService;
+
     // Create new alert
     public AlertEntity createAlert(AlertEntity alert) {
-        return alertRepository.save(alert);
+        AlertEntity savedAlert = alertRepository.save(alert);
+        eventPublisher.publishEvent(DomainChangeEvent.ofAlert(savedAlert));
+        return savedAlert;
     }
 
     // Get all active alerts
@@ -53,11 +69,12 @@ public class AlertService {
         return alertRepository.findActiveAlertsByDistrict(district);
     }
 
-    // Mark alert as read
-    public void markAlertAsRead(Long alertId) {
-        AlertEntity alert = getAlertById(alertId);
-        alert.setIsRead(true);
-        alertRepository.save(alert);
+    // Mark alert as read for this user only; other users still see it as unread
+    public void markAlertAsRead(Long alertId, Long userId) {
+        if (!alertRepository.existsById(alertId)) {
+            throw new ResourceNotFoundException("Alert not found with id: " + alertId);
+        }
+        alertReadStateService.markRead(userId, List.of(alertId));
     }
 
     // Deactivate alert
@@ -65,11 +82,61 @@ public class AlertService {
         AlertEntity alert = getAlertById(alertId);
         alert.setIsActive(false);
         alertRepository.save(alert);
+        eventPublisher.publishEvent(DomainChangeEvent.ofAlert(alert));
+    }
+
+    // Mark every selected active alert as read for this user, in one read-state write
+    public int markAlertsAsRead(AlertBatchRequestDto request, Long userId) {
+        List<Long> alertIds = selectActive(request).stream().map(AlertRepository.AlertScope::getId).toList();
+        alertReadStateService.markRead(userId, alertIds);
+        return alertIds.size();
+    }
+
+    // Deactivate every selected active alert with bulk updates, then notify listeners once
+    public int deactivateAlerts(AlertBatchRequestDto request) {
+        List<AlertRepository.AlertScope> alerts = selectActive(request);
+        if (alerts.isEmpty()) {
+            return 0;
+        }
+
+        int deactivated = 0;
+        List<Long> alertIds = alerts.stream().map(AlertRepository.AlertScope::getId).toList();
+        for (int from = 0; from < alertIds.size(); from += BULK_UPDATE_CHUNK) {
+            deactivated += alertRepository.deactivateByIds(
+                    alertIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK, alertIds.size())));
+        }
+
+        Set<Long> villageIds = new HashSet<>();
+        Set<String> districts = new HashSet<>();
+        boolean highPriority = false;
+        for (AlertRepository.AlertScope alert : alerts) {
+            if (alert.getVillageId() != null) {
+                villageIds.add(alert.getVillageId());
+            }
+            if (alert.getDistrict() != null) {
+                districts.add(alert.getDistrict());
+            }
+            highPriority |= alert.getPriority() == AlertEntity.AlertPriority.HIGH
+                    || alert.getPriority() == AlertEntity.AlertPriority.CRITICAL;
+        }
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.ALERT, villageIds, districts, highPriority));
+        return deactivated;
+    }
+
+    private List<AlertRepository.AlertScope> selectActive(AlertBatchRequestDto request) {
+        if (request.hasAlertIds() == request.hasFilter()) {
+            throw new IllegalArgumentException("Provide either alertIds or at least one filter (district, type, olderThan)");
+        }
+        if (request.hasAlertIds()) {
+            return alertRepository.findActiveScopesByIds(request.getAlertIds());
+        }
+        String district = request.getDistrict() != null && !request.getDistrict().isBlank() ? request.getDistrict() : null;
+        return alertRepository.findActiveScopesByFilter(district, request.getType(), request.getOlderThan());
     }
 
-    // Count unread alerts for a village
-    public Long countUnreadAlerts(Long villageId) {
-        return alertRepository.countUnreadAlertsByVillage(villageId);
+    // Count active alerts the user has not read, in one village or everywhere
+    public long countUnreadAlerts(Long villageId, Long userId) {
+        return alertReadStateService.countUnread(userId, villageId);
     }
 
     // Get critical alerts
@@ -0,0 +1,357 @@
+package com.arogyam.health.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.duckdb.DuckDBAppender;
+import org.duckdb.DuckDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes incremental Parquet snapshots of reports, water tests and alerts to local disk so
+ * analytics can run against files instead of the primary database. Each run copies rows created
+ * or changed since the dataset's watermark, partitioned by month and district (Hive-style
+ * directories), and records the new files in {@code manifest.json}.
+ *
+ * The watermark is the (changed_at, id) of the last exported row, where changed_at is the row's
+ * updated_at (or creation time). Only rows changed more than the safety lag ago are exported, so
+ * a transaction that commits after later ones is still picked up. An edited row is exported
+ * again; readers keep the version with the latest changed_at per id.
+ */
+@Service
+public class AnalyticsSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsSnapshotService.class);
+
+    private static final String MANIFEST_FILE = "manifest.json";
+
+    // Watermark of a dataset that has not been exported yet
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final DateTimeFormatter PREFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+
+    private enum ColumnType { BIGINT, INTEGER, DOUBLE, BOOLEAN, VARCHAR, DATE, TIMESTAMP }
+
+    private record Column(String name, ColumnType type) {
+    }
+
+    private record Dataset(String name, String sql, List<Column> columns) {
+    }
+
+    public record SnapshotFile(String path, long sizeBytes) {
+    }
+
+    public record SnapshotBatch(LocalDateTime changedAfter, LocalDateTime changedThrough, long rows,
+                                LocalDateTime createdAt, List<SnapshotFile> files) {
+    }
+
+    public record DatasetManifest(LocalDateTime changedThrough, long lastId, long totalRows, List<SnapshotBatch> batches) {
+    }
+
+    private record Watermark(LocalDateTime changedAt, long id) {
+    }
+
+    private record BatchResult(SnapshotBatch batch, Watermark through) {
+    }
+
+    public record Manifest(String format, List<String> partitionBy, LocalDateTime updatedAt,
+                           Map<String, DatasetManifest> datasets) {
+    }
+
+    // Every query must select the id first and "changed_at", "month" and "district" last, and take
+    // the watermark (changed_at, id), the safety lag in seconds and the row limit as parameters
+    private static final List<Dataset> DATASETS = List.of(
+            new Dataset("health_reports",
+                    "SELECT h.id, CAST(h.report_date AS text), TO_CHAR(h.report_time, 'HH24:MI:SS'), " +
+                            "v.id, v.name, v.state, h.patient_age, h.patient_gender, CAST(h.symptoms AS text), " +
+                            "h.severity_level, h.suspected_disease, h.is_verified, " +
+                            "ST_Y(h.location_coordinates), ST_X(h.location_coordinates), h.created_at, " +
+                            "COALESCE(h.updated_at, h.created_at), TO_CHAR(h.report_date, 'YYYY-MM'), v.district " +
+                            "FROM health_reports h JOIN villages v ON v.id = h.village_id " +
+                            "WHERE (COALESCE(h.updated_at, h.created_at), h.id) > (?, ?) " +
+                            "AND COALESCE(h.updated_at, h.created_at) < now() - make_interval(secs => ?) " +
+                            "ORDER BY COALESCE(h.updated_at, h.created_at), h.id LIMIT ?",
+                    List.of(new Column("id", ColumnType.BIGINT),
+                            new Column("report_date", ColumnType.DATE),
+                            new Column("report_time", ColumnType.VARCHAR),
+                            new Column("village_id", ColumnType.BIGINT),
+                            new Column("village_name", ColumnType.VARCHAR),
+                            new Column("state", ColumnType.VARCHAR),
+                            new Column("patient_age", ColumnType.INTEGER),
+                            new Column("patient_gender", ColumnType.VARCHAR),
+                            new Column("symptoms", ColumnType.VARCHAR),
+                            new Column("severity_level", ColumnType.VARCHAR),
+                            new Column("suspected_disease", ColumnType.VARCHAR),
+                            new Column("is_verified", ColumnType.BOOLEAN),
+                            new Column("latitude", ColumnType.DOUBLE),
+                            new Column("longitude", ColumnType.DOUBLE),
+                            new Column("created_at", ColumnType.TIMESTAMP),
+                            new Column("changed_at", ColumnType.TIMESTAMP),
+                            new Column("month", ColumnType.VARCHAR),
+                            new Column("district", ColumnType.VARCHAR))),
+            new Dataset("water_quality_reports",
+                    "SELECT w.id, w.test_date, v.id, v.name, v.state, w.source_name, w.source_type, " +
+                            "w.ph_level, w.turbidity, w.bacterial_count, w.temperature, w.quality_status, " +
+                            "w.latitude, w.longitude, COALESCE(w.updated_at, w.test_date), " +
+                            "TO_CHAR(w.test_date, 'YYYY-MM'), v.district " +
+                            "FROM water_quality_reports w JOIN villages v ON v.id = w.village_id " +
+                            "WHERE (COALESCE(w.updated_at, w.test_date), w.id) > (?, ?) " +
+                            "AND COALESCE(w.updated_at, w.test_date) < now() - make_interval(secs => ?) " +
+                            "ORDER BY COALESCE(w.updated_at, w.test_date), w.id LIMIT ?",
+                    List.of(new Column("id", ColumnType.BIGINT),
+                            new Column("test_date", ColumnType.TIMESTAMP),
+                            new Column("village_id", ColumnType.BIGINT),
+                            new Column("village_name", ColumnType.VARCHAR),
+                            new Column("state", ColumnType.VARCHAR),
+                            new Column("source_name", ColumnType.VARCHAR),
+                            new Column("source_type", ColumnType.VARCHAR),
+                            new Column("ph_level", ColumnType.DOUBLE),
+                            new Column("turbidity", ColumnType.DOUBLE),
+                            new Column("bacterial_count", ColumnType.INTEGER),
+                            new Column("temperature", ColumnType.DOUBLE),
+                            new Column("quality_status", ColumnType.VARCHAR),
+                            new Column("latitude", ColumnType.DOUBLE),
+                            new Column("longitude", ColumnType.DOUBLE),
+                            new Column("changed_at", ColumnType.TIMESTAMP),
+                            new Column("month", ColumnType.VARCHAR),
+                            new Column("district", ColumnType.VARCHAR))),
+            new Dataset("alerts",
+                    "SELECT a.id, a.created_at, a.type, a.priority, a.title, v.id, v.name, v.state, " +
+                            "a.is_active, COALESCE(a.updated_at, a.created_at), TO_CHAR(a.created_at, 'YYYY-MM'), v.district " +
+                            "FROM alerts a LEFT JOIN villages v ON v.id = a.village_id " +
+                            "WHERE (COALESCE(a.updated_at, a.created_at), a.id) > (?, ?) " +
+                            "AND COALESCE(a.updated_at, a.created_at) < now() - make_interval(secs => ?) " +
+                            "ORDER BY COALESCE(a.updated_at, a.created_at), a.id LIMIT ?",
+                    List.of(new Column("id", ColumnType.BIGINT),
+                            new Column("created_at", ColumnType.TIMESTAMP),
+                            new Column("type", ColumnType.VARCHAR),
+                            new Column("priority", ColumnType.VARCHAR),
+                            new Column("title", ColumnType.VARCHAR),
+                            new Column("village_id", ColumnType.BIGINT),
+                            new Column("village_name", ColumnType.VARCHAR),
+                            new Column("state", ColumnType.VARCHAR),
+                            new Column("is_active", ColumnType.BOOLEAN),
+                            new Column("changed_at", ColumnType.TIMESTAMP),
+                            new Column("month", ColumnType.VARCHAR),
+                            new Column("district", ColumnType.VARCHAR)))
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.analytics.snapshot.directory:./data/snapshots}")
+    private String directory;
+
+    @Value("${app.analytics.snapshot.max-rows-per-run:1000000}")
+    private int maxRowsPerRun;
+
+    // Longer than any write transaction, so rows are only exported once everything before them has committed
+    @Value("${app.analytics.snapshot.safety-lag:PT15M}")
+    private Duration safetyLag;
+
+    private Path baseDirectory;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        baseDirectory = Paths.get(directory).toAbsolutePath().normalize();
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${app.analytics.snapshot.cron:0 30 1 * * *}")
+    public void scheduledSnapshot() {
+        try {
+            writeSnapshots();
+        } catch (Exception e) {
+            logger.error("Analytics snapshot run failed", e);
+        }
+    }
+
+    public synchronized void writeSnapshots() throws IOException, SQLException {
+        Files.createDirectories(baseDirectory);
+        Manifest manifest = readManifest();
+        Map<String, DatasetManifest> datasets = new LinkedHashMap<>(manifest.datasets());
+        for (Dataset dataset : DATASETS) {
+            DatasetManifest current = datasets.getOrDefault(dataset.name(), new DatasetManifest(null, 0, 0, List.of()));
+            // Manifests written before the change watermark existed start over with a full export
+            Watermark from = current.changedThrough() != null ?
+                    new Watermark(current.changedThrough(), current.lastId()) :
+                    new Watermark(BEGINNING, 0);
+            BatchResult result = writeBatch(dataset, from);
+            if (result == null) {
+                continue;
+            }
+            List<SnapshotBatch> batches = new ArrayList<>(current.batches());
+            batches.add(result.batch());
+            datasets.put(dataset.name(), new DatasetManifest(result.through().changedAt(), result.through().id(),
+                    current.totalRows() + result.batch().rows(), batches));
+            // Persist after every dataset so a failure later in the run does not re-export it
+            writeManifest(new Manifest("parquet", List.of("month", "district"), LocalDateTime.now(), datasets));
+            logger.info("Snapshot of {}: {} rows changed through {}", dataset.name(), result.batch().rows(),
+                    result.through().changedAt());
+        }
+    }
+
+    public synchronized Manifest getManifest() throws IOException {
+        return readManifest();
+    }
+
+    // Resolves a manifest-relative file path, refusing anything outside the snapshot directory
+    public Path resolveSnapshotFile(String relativePath) {
+        Path resolved = baseDirectory.resolve(relativePath).normalize();
+        if (!resolved.startsWith(baseDirectory) || !resolved.toString().endsWith(".parquet") || !Files.isRegularFile(resolved)) {
+            throw new IllegalArgumentException("Snapshot file not found: " + relativePath);
+        }
+        return resolved;
+    }
+
+    private BatchResult writeBatch(Dataset dataset, Watermark from) throws SQLException, IOException {
+        try (DuckDBConnection duckdb = (DuckDBConnection) DriverManager.getConnection("jdbc:duckdb:")) {
+            try (Statement statement = duckdb.createStatement()) {
+                statement.execute("CREATE TABLE batch (" + dataset.columns().stream()
+                        .map(column -> column.name() + " " + column.type().name())
+                        .collect(Collectors.joining(", ")) + ")");
+            }
+
+            // changed_at is the third-last column
+            int changedAtIndex = dataset.columns().size() - 2;
+            Watermark[] last = {from};
+            long[] rows = {0};
+            try (DuckDBAppender appender = duckdb.createAppender(DuckDBConnection.DEFAULT_SCHEMA, "batch")) {
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    var statement = connection.prepareStatement(dataset.sql(),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(5000);
+                    statement.setTimestamp(1, Timestamp.valueOf(from.changedAt()));
+                    statement.setLong(2, from.id());
+                    statement.setLong(3, safetyLag.toSeconds());
+                    statement.setInt(4, maxRowsPerRun);
+                    return statement;
+                }, resultSet -> {
+                    appendRow(appender, resultSet, dataset.columns());
+                    last[0] = new Watermark(resultSet.getTimestamp(changedAtIndex).toLocalDateTime(), resultSet.getLong(1));
+                    rows[0]++;
+                }));
+            }
+            if (rows[0] == 0) {
+                return null;
+            }
+
+            // Named after the watermark so a run retried after a crash overwrites its own files
+            String prefix = "after_" + PREFIX_FORMAT.format(from.changedAt()) + "_" + from.id();
+            Path datasetDirectory = baseDirectory.resolve(dataset.name());
+            try (Statement statement = duckdb.createStatement()) {
+                statement.execute("COPY batch TO '" + datasetDirectory.toString().replace("'", "''") + "' " +
+                        "(FORMAT PARQUET, COMPRESSION ZSTD, PARTITION_BY (month, district), " +
+                        "FILENAME_PATTERN '" + prefix + "_{i}', OVERWRITE_OR_IGNORE true)");
+            }
+            SnapshotBatch batch = new SnapshotBatch(from.changedAt().equals(BEGINNING) ? null : from.changedAt(),
+                    last[0].changedAt(), rows[0], LocalDateTime.now(), listFiles(datasetDirectory, prefix));
+            return new BatchResult(batch, last[0]);
+        }
+    }
+
+    private static void appendRow(DuckDBAppender appender, ResultSet resultSet, List<Column> columns) throws SQLException {
+        appender.beginRow();
+        for (int i = 0; i < columns.size(); i++) {
+            int index = i + 1;
+            switch (columns.get(i).type()) {
+                case BIGINT, INTEGER -> {
+                    long value = resultSet.getLong(index);
+                    if (resultSet.wasNull()) {
+                        appender.append((String) null);
+                    } else {
+                        appender.append(value);
+                    }
+                }
+                case DOUBLE -> {
+                    double value = resultSet.getDouble(index);
+                    if (resultSet.wasNull()) {
+                        appender.append((String) null);
+                    } else {
+                        appender.append(value);
+                    }
+                }
+                case BOOLEAN -> {
+                    boolean value = resultSet.getBoolean(index);
+                    if (resultSet.wasNull()) {
+                        appender.append((String) null);
+                    } else {
+                        appender.append(value);
+                    }
+                }
+                case TIMESTAMP -> {
+                    Timestamp value = resultSet.getTimestamp(index);
+                    appender.appendLocalDateTime(value != null ? value.toLocalDateTime() : null);
+                }
+                // DATE arrives as ISO text and is cast by the appender
+                case VARCHAR, DATE -> appender.append(resultSet.getString(index));
+            }
+        }
+        appender.endRow();
+    }
+
+    private List<SnapshotFile> listFiles(Path datasetDirectory, String prefix) throws IOException {
+        try (Stream<Path> paths = Files.walk(datasetDirectory)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith(prefix + "_"))
+                    .sorted()
+                    .map(path -> {
+                        try {
+                            return new SnapshotFile(baseDirectory.relativize(path).toString(), Files.size(path));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Manifest readManifest() throws IOException {
+        Path path = baseDirectory.resolve(MANIFEST_FILE);
+        if (!Files.exists(path)) {
+            return new Manifest("parquet", List.of("month", "district"), null, Map.of());
+        }
+        return objectMapper.readValue(path.toFile(), Manifest.class);
+    }
+
+    private void writeManifest(Manifest manifest) throws IOException {
+        Path temp = baseDirectory.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+        Files.move(temp, baseDirectory.resolve(MANIFEST_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -6,10 +6,13 @@ import com.arogyam.health.dto.UserRegistrationDto;
 import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.VillageEntity;
 import com.arogyam.health.exception.ResourceNotFoundException;
+import com.arogyam.health.exception.ServiceUnavailableException;
 import com.arogyam.health.exception.UnauthorizedException;
 import com.arogyam.health.repository.UserRepository;
 import com.arogyam.health.repository.VillageRepository;
 import com.arogyam.health.security.JwtTokenProvider;
+import com.arogyam.health.security.TokenRevocationList;
+import com.arogyam.health.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,6 +22,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Service
 @Transactional
@@ -39,6 +43,12 @@ public class AuthService {
     @Autowired
     private VillageRepository villageRepository;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     public LoginResponseDto login(LoginRequestDto loginRequest) {
         try {
             //authenticate user
@@ -59,22 +69,37 @@ public class AuthService {
             user.setLastLogin(LocalDateTime.now());
             userRepository.save(user);
 
-            return LoginResponseDto.builder()
-                    .token(token)
-                    .userId(user.getId())
-                    .username(user.getUsername())
-                    .fullName(user.getFullName())
-                    .role(user.getRole())
-                    .district(user.getDistrict())
-                    .state(user.getState())
-                    .villageId(user.getVillage() != null ? user.getVillage().getId() : null)
-                    .villageName(user.getVillage() != null ? user.getVillage().getName() : null)
-                    .build();
+            RefreshTokenService.IssuedToken refreshToken = refreshTokenService.issue(user, loginRequest.getDeviceId());
+            return toLoginResponse(user, token, refreshToken);
+        } catch (ServiceUnavailableException e) {
+            // Hashing pool saturated; the credentials were never checked
+            throw e;
         } catch (Exception e) {
             throw new UnauthorizedException("Invalid username or password");
         }
     }
 
+    // Exchanges a refresh token for a new access token and a replacement refresh token
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public LoginResponseDto refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        UserEntity user = rotation.user();
+        String token = jwtTokenProvider.generateToken(UserPrincipal.create(user));
+        return toLoginResponse(user, token, rotation.refreshToken());
+    }
+
+    // Ends the device session and revokes the access token it was using
+    public boolean logout(String refreshToken, String accessToken) {
+        if (accessToken != null && jwtTokenProvider.validateToken(accessToken)) {
+            tokenRevocationList.revokeToken(
+                    jwtTokenProvider.getTokenIdFromToken(accessToken),
+                    jwtTokenProvider.getUserIdFromToken(accessToken),
+                    LocalDateTime.ofInstant(jwtTokenProvider.getExpirationDateFromToken(accessToken).toInstant(),
+                            ZoneId.systemDefault()));
+        }
+        return refreshToken != null && refreshTokenService.revoke(refreshToken);
+    }
+
     public UserEntity register(UserRegistrationDto registrationDto) {
         // Check if username already exists
         if (userRepository.existsByUsername(registrationDto.getUsername())) {
@@ -112,6 +137,22 @@ public class AuthService {
         return userRepository.save(user);
     }
 
+    private LoginResponseDto toLoginResponse(UserEntity user, String token, RefreshTokenService.IssuedToken refreshToken) {
+        return LoginResponseDto.builder()
+                .token(token)
+                .refreshToken(refreshToken.token())
+                .deviceId(refreshToken.deviceId())
+                .userId(user.getId())
+                .username(user.getUsername())
+                .fullName(user.getFullName())
+                .role(user.getRole())
+                .district(user.getDistrict())
+                .state(user.getState())
+                .villageId(user.getVillage() != null ? user.getVillage().getId() : null)
+                .villageName(user.getVillage() != null ? user.getVillage().getName() : null)
+                .build();
+    }
+
     public Boolean validateToken(String token) {
         return jwtTokenProvider.validateToken(token);
     }
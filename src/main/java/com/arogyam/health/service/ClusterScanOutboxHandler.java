@@ -0,0 +1,22 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.OutboxEventEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ClusterScanOutboxHandler implements OutboxEventHandler {
+
+    @Autowired
+    private OutbreakClusterService outbreakClusterService;
+
+    @Override
+    public boolean supports(OutboxEventEntity.EventType eventType) {
+        return eventType == OutboxEventEntity.EventType.HEALTH_REPORT_SUBMITTED;
+    }
+
+    @Override
+    public void handle(OutboxEventEntity event) {
+        outbreakClusterService.requestIncrementalScan();
+    }
+}
@@ -0,0 +1,56 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.config.CacheConfig;
+import com.arogyam.health.event.DomainChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts only the dashboard entries a write can have changed: the touched villages, their
+ * districts, and district-wide trends. Runs after commit so a reader cannot re-cache the old state
+ * between eviction and commit.
+ */
+@Component
+public class DashboardCacheEvictionListener {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCacheEvictionListener.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        Cache villageStatistics = cacheManager.getCache(CacheConfig.VILLAGE_STATISTICS);
+        event.villageIds().forEach(villageStatistics::evict);
+
+        Cache districtStatistics = cacheManager.getCache(CacheConfig.DISTRICT_STATISTICS);
+        event.districts().forEach(districtStatistics::evict);
+
+        if (event.type() == DomainChangeEvent.Type.HEALTH_REPORT) {
+            evictTrends(event);
+        }
+
+        logger.debug("Evicted dashboard caches for {} (villages={}, districts={})",
+                event.type(), event.villageIds(), event.districts());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictTrends(DomainChangeEvent event) {
+        Cache trends = cacheManager.getCache(CacheConfig.HEALTH_TRENDS);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) trends.getNativeCache();
+        // Country-wide trends include every district
+        nativeCache.asMap().keySet().removeIf(key -> {
+            String scope = key.toString();
+            scope = scope.substring(0, scope.lastIndexOf(DashboardService.KEY_SEPARATOR));
+            return scope.equals(DashboardService.ALL_DISTRICTS) || event.districts().contains(scope);
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.arogyam.health.service;
 
+import com.arogyam.health.config.CacheConfig;
 import com.arogyam.health.entity.AlertEntity;
 import com.arogyam.health.entity.HealthReportEntity;
 import com.arogyam.health.entity.VillageEntity;
@@ -9,16 +10,28 @@ import com.arogyam.health.repository.HealthReportRepository;
 import com.arogyam.health.repository.VillageRepository;
 import com.arogyam.health.repository.WaterQualityReportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+// Cached views are filled in read-write transactions so they read the primary: a refill right after
+// eviction on a lagging replica would cache the pre-write data for the whole TTL under a new ETag.
 @Service
+@Transactional(readOnly = true)
 public class DashboardService {
 
+    public static final String ALL_DISTRICTS = "*";
+    public static final String KEY_SEPARATOR = "|";
+
+    public enum TrendInterval {
+        DAY, WEEK, MONTH
+    }
+
     @Autowired
     private HealthReportRepository healthReportRepository;
 
@@ -66,6 +79,8 @@ public class DashboardService {
         return stats;
     }
 
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.DISTRICT_STATISTICS, key = "#district")
     public Map<String, Object> getDistrictStatistics(String district) {
         Map<String, Object> stats = new HashMap<>();
 
@@ -121,51 +136,46 @@ public class DashboardService {
         return stats;
     }
 
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.VILLAGE_STATISTICS, key = "#villageId")
     public Map<String, Object> getVillageStatistics(Long villageId) {
         Map<String, Object> stats = new HashMap<>();
 
-        VillageEntity village = villageRepository.findById(villageId)
+        // Recent means the last 7 days
+        VillageRepository.VillageStatistics village = villageRepository
+                .findVillageStatistics(villageId, LocalDate.now().minusDays(7))
                 .orElseThrow(() -> new RuntimeException("Village not found"));
 
-        stats.put("villageName", village.getName());
+        stats.put("villageName", village.getVillageName());
         stats.put("district", village.getDistrict());
         stats.put("state", village.getState());
-
-        // Health reports count
-        List<HealthReportEntity> villageReports = healthReportRepository.findByVillageId(villageId);
-        stats.put("totalReports", villageReports.size());
-
-        // Recent reports (last 7 days)
-        LocalDate sevenDaysAgo = LocalDate.now().minusDays(7);
-        Long recentCount = healthReportRepository.countRecentReportsByVillage(villageId, sevenDaysAgo);
-        stats.put("recentReports", recentCount);
-
-        // Severity breakdown
-        Map<String, Long> severityBreakdown = villageReports.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getSeverityLevel().toString(),
-                        Collectors.counting()
-                ));
+        stats.put("totalReports", village.getTotalReports().longValue());
+        stats.put("recentReports", village.getRecentReports().longValue());
+
+        // Severity breakdown; only levels that have reports, as before
+        Map<String, Long> severityBreakdown = new HashMap<>();
+        putIfPositive(severityBreakdown, HealthReportEntity.SeverityLevel.MILD, village.getMildReports());
+        putIfPositive(severityBreakdown, HealthReportEntity.SeverityLevel.MODERATE, village.getModerateReports());
+        putIfPositive(severityBreakdown, HealthReportEntity.SeverityLevel.SEVERE, village.getSevereReports());
         stats.put("severityBreakdown", severityBreakdown);
 
-        // Active alerts
-        List<AlertEntity> villageAlerts = alertRepository.findByVillageIdAndIsActiveTrue(villageId);
-        stats.put("activeAlerts", villageAlerts.size());
-
-        // Unread alerts
-        Long unreadAlerts = alertRepository.countUnreadAlertsByVillage(villageId);
-        stats.put("unreadAlerts", unreadAlerts);
-
-        // Water quality
-        List<WaterQualityEntity> waterTests = waterQualityRepository.findByVillageId(villageId);
-        if (!waterTests.isEmpty()) {
-            WaterQualityEntity latestTest = waterTests.get(waterTests.size() - 1);
-            stats.put("latestWaterQuality", latestTest.getQualityStatus().toString());
+        stats.put("activeAlerts", village.getActiveAlerts().longValue());
+        if (village.getLatestWaterQuality() != null) {
+            stats.put("latestWaterQuality", village.getLatestWaterQuality());
         }
 
         return stats;
     }
 
+    private static void putIfPositive(Map<String, Long> breakdown, HealthReportEntity.SeverityLevel level, Number count) {
+        if (count.longValue() > 0) {
+            breakdown.put(level.toString(), count.longValue());
+        }
+    }
+
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.HEALTH_TRENDS,
+            key = "T(com.arogyam.health.service.DashboardService).trendsKey(#district, #days)")
     public Map<String, Object> getHealthTrends(int days, String district) {
         Map<String, Object> trends = new HashMap<>();
 
@@ -200,65 +210,89 @@ public class DashboardService {
         return trends;
     }
 
-    public Map<String, Object> getWaterQualityTrends(int days, String district) {
+    // Trend keys start with the district (or ALL_DISTRICTS) so eviction can match them by prefix
+    public static String trendsKey(String district, int days) {
+        return (district != null && !district.isEmpty() ? district : ALL_DISTRICTS) + KEY_SEPARATOR + days;
+    }
+
+    // Grouped in SQL, so memory depends on the number of periods rather than the number of tests
+    public Map<String, Object> getWaterQualityTrends(int days, String district, String state, TrendInterval interval) {
         Map<String, Object> trends = new HashMap<>();
 
         LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-        List<WaterQualityEntity> tests;
-
-        if (district != null && !district.isEmpty()) {
-            tests = waterQualityRepository.findRecentTestsByDistrict(district, startDate);
-        } else {
-            tests = waterQualityRepository.findAll();
+        List<WaterQualityReportRepository.TrendBucket> buckets = waterQualityRepository.aggregateTrends(
+                interval.name().toLowerCase(), startDate, emptyToNull(district), emptyToNull(state));
+
+        Map<String, Map<String, Object>> series = new LinkedHashMap<>();
+        Map<String, Long> qualityDistribution = new HashMap<>();
+        Map<String, Long> sourceDistribution = new HashMap<>();
+        for (WaterQualityReportRepository.TrendBucket bucket : buckets) {
+            long tests = bucket.getTests().longValue();
+            Map<String, Object> point = series.computeIfAbsent(bucket.getBucket(), period -> newTrendPoint(period));
+            point.merge("total", tests, (a, b) -> (Long) a + (Long) b);
+            countInto(point, "byQuality", bucket.getQualityStatus(), tests);
+            countInto(point, "bySource", bucket.getSourceType(), tests);
+            qualityDistribution.merge(bucket.getQualityStatus(), tests, Long::sum);
+            sourceDistribution.merge(bucket.getSourceType(), tests, Long::sum);
         }
 
-        // Quality status distribution over time
-        Map<String, Long> qualityDistribution = tests.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getQualityStatus().toString(),
-                        Collectors.counting()
-                ));
+        trends.put("interval", interval.name());
+        trends.put("from", startDate.toLocalDate());
+        trends.put("series", new ArrayList<>(series.values()));
         trends.put("qualityDistribution", qualityDistribution);
-
-        // Source type distribution
-        Map<String, Long> sourceDistribution = tests.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getSourceType().toString(),
-                        Collectors.counting()
-                ));
         trends.put("sourceDistribution", sourceDistribution);
 
         return trends;
     }
 
+    private static Map<String, Object> newTrendPoint(String period) {
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("period", period);
+        point.put("total", 0L);
+        point.put("byQuality", new HashMap<String, Long>());
+        point.put("bySource", new HashMap<String, Long>());
+        return point;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void countInto(Map<String, Object> point, String field, String key, long tests) {
+        ((Map<String, Long>) point.get(field)).merge(key, tests, Long::sum);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // Served from PublicAdvisorySnapshot; called only when the snapshot is rebuilt
+    // Built in a fixed order (alerts by id, ordered maps) because its bytes are hashed into the ETag
     public Map<String, Object> getPublicHealthAdvisory() {
-        Map<String, Object> advisory = new HashMap<>();
+        Map<String, Object> advisory = new LinkedHashMap<>();
 
         // Get active high-priority alerts
         List<AlertEntity> criticalAlerts = alertRepository
-                .findByPriorityAndIsActiveTrue(AlertEntity.AlertPriority.CRITICAL);
+                .findByPriorityAndIsActiveTrueOrderByIdAsc(AlertEntity.AlertPriority.CRITICAL);
         List<AlertEntity> highAlerts = alertRepository
-                .findByPriorityAndIsActiveTrue(AlertEntity.AlertPriority.HIGH);
+                .findByPriorityAndIsActiveTrueOrderByIdAsc(AlertEntity.AlertPriority.HIGH);
 
         advisory.put("criticalAlerts", criticalAlerts.stream()
-                .map(a -> Map.of(
-                        "title", a.getTitle(),
-                        "message", a.getMessage(),
-                        "type", a.getType().toString()
-                ))
+                .map(DashboardService::toAdvisoryEntry)
                 .collect(Collectors.toList()));
 
         advisory.put("highPriorityAlerts", highAlerts.stream()
-                .map(a -> Map.of(
-                        "title", a.getTitle(),
-                        "message", a.getMessage(),
-                        "type", a.getType().toString()
-                ))
+                .map(DashboardService::toAdvisoryEntry)
                 .collect(Collectors.toList()));
 
         return advisory;
     }
 
+    private static Map<String, Object> toAdvisoryEntry(AlertEntity alert) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("title", alert.getTitle());
+        entry.put("message", alert.getMessage());
+        entry.put("type", alert.getType().toString());
+        return entry;
+    }
+
     public Map<String, Object> getActiveAlerts(String district) {
         Map<String, Object> alertsData = new HashMap<>();
 
@@ -0,0 +1,243 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.UserEntity;
+import com.arogyam.health.entity.UserRole;
+import com.arogyam.health.repository.HealthReportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams health reports straight from a forward-only JDBC cursor to the response as CSV or
+ * NDJSON. Rows are written as they are fetched, so memory stays flat whatever the export size.
+ */
+@Service
+public class HealthReportExportService {
+    private static final Logger logger = LoggerFactory.getLogger(HealthReportExportService.class);
+
+    // Roles that may export every district; others are pinned to their own district or state
+    private static final Set<UserRole> UNRESTRICTED_ROLES = EnumSet.of(UserRole.ADMIN, UserRole.ANALYST);
+    // Roles that may see patient identifiers
+    private static final Set<UserRole> IDENTIFIABLE_ROLES = EnumSet.of(UserRole.ADMIN, UserRole.DOCTOR);
+
+    private static final String[] CSV_HEADER = {
+            "id", "reportDate", "reportTime", "villageId", "villageName", "district", "state",
+            "patientName", "patientAge", "patientGender", "symptoms", "severityLevel",
+            "suspectedDisease", "verified", "latitude", "longitude", "createdAt"
+    };
+
+    @Autowired
+    private HealthReportRepository healthReportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public record ExportScope(String district, String state, LocalDate startDate, LocalDate endDate,
+                              boolean includePatientIdentity) {
+    }
+
+    /**
+     * Applies the caller's role to the requested filters. Resolved before streaming starts so a
+     * rejected request still gets a normal error response.
+     */
+    public ExportScope resolveScope(UserEntity user, String district, String state,
+                                    LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        if (!UNRESTRICTED_ROLES.contains(user.getRole())) {
+            if (user.getDistrict() != null) {
+                if (district != null && !district.equalsIgnoreCase(user.getDistrict())) {
+                    throw new IllegalArgumentException("You can only export reports for district: " + user.getDistrict());
+                }
+                district = user.getDistrict();
+            } else if (user.getState() != null) {
+                if (state != null && !state.equalsIgnoreCase(user.getState())) {
+                    throw new IllegalArgumentException("You can only export reports for state: " + user.getState());
+                }
+                state = user.getState();
+            } else {
+                throw new IllegalArgumentException("No district or state assigned to your account");
+            }
+        }
+
+        return new ExportScope(district, state, startDate, endDate,
+                IDENTIFIABLE_ROLES.contains(user.getRole()));
+    }
+
+    public void export(ExportScope scope, Format format, boolean gzip, OutputStream target) throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(target, 64 * 1024) : target;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long rows;
+        try {
+            rows = readOnly.execute(status -> {
+                try (Stream<HealthReportRepository.ExportRow> stream = healthReportRepository.streamForExport(
+                        scope.district(), scope.state(), scope.startDate(), scope.endDate())) {
+                    return format == Format.CSV ?
+                            writeCsv(stream, scope.includePatientIdentity(), writer) :
+                            writeNdjson(stream, scope.includePatientIdentity(), writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) out).finish();
+        }
+        logger.info("Exported {} health reports as {} (district={}, state={})",
+                rows, format, scope.district(), scope.state());
+    }
+
+    private long writeCsv(Stream<HealthReportRepository.ExportRow> stream, boolean includeIdentity,
+                          Writer writer) throws IOException {
+        writeCsvLine(writer, (Object[]) CSV_HEADER);
+        long count = 0;
+        for (HealthReportRepository.ExportRow row : (Iterable<HealthReportRepository.ExportRow>) stream::iterator) {
+            writeCsvLine(writer,
+                    row.getId(), row.getReportDate(), row.getReportTime(), row.getVillageId(),
+                    row.getVillageName(), row.getDistrict(), row.getState(),
+                    includeIdentity ? row.getPatientName() : null,
+                    includeIdentity ? row.getPatientAge() : null,
+                    row.getPatientGender(), row.getSymptoms(), row.getSeverityLevel(),
+                    row.getSuspectedDisease(), row.getVerified(), row.getLatitude(), row.getLongitude(),
+                    row.getCreatedAt());
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Stream<HealthReportRepository.ExportRow> stream, boolean includeIdentity,
+                             Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        for (HealthReportRepository.ExportRow row : (Iterable<HealthReportRepository.ExportRow>) stream::iterator) {
+            generator.writeStartObject();
+            writeNumber(generator, "id", row.getId());
+            generator.writeStringField("reportDate", row.getReportDate());
+            generator.writeStringField("reportTime", row.getReportTime());
+            writeNumber(generator, "villageId", row.getVillageId());
+            generator.writeStringField("villageName", row.getVillageName());
+            generator.writeStringField("district", row.getDistrict());
+            generator.writeStringField("state", row.getState());
+            if (includeIdentity) {
+                generator.writeStringField("patientName", row.getPatientName());
+                writeNumber(generator, "patientAge", row.getPatientAge());
+            }
+            generator.writeStringField("patientGender", row.getPatientGender());
+            // Symptoms are already a JSON array in the column
+            generator.writeFieldName("symptoms");
+            if (row.getSymptoms() != null) {
+                generator.writeRawValue(row.getSymptoms());
+            } else {
+                generator.writeNull();
+            }
+            generator.writeStringField("severityLevel", row.getSeverityLevel());
+            generator.writeStringField("suspectedDisease", row.getSuspectedDisease());
+            if (row.getVerified() != null) {
+                generator.writeBooleanField("verified", row.getVerified());
+            }
+            writeNumber(generator, "latitude", row.getLatitude());
+            writeNumber(generator, "longitude", row.getLongitude());
+            generator.writeStringField("createdAt", row.getCreatedAt());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    private static void writeNumber(JsonGenerator generator, String field, Number value) throws IOException {
+        generator.writeFieldName(field);
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Double || value instanceof Float || value instanceof java.math.BigDecimal) {
+            generator.writeNumber(value.doubleValue());
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        // Neutralise spreadsheet formulas in free-text fields
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 && !isNumeric(value)) {
+            value = "'" + value;
+        }
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static boolean isNumeric(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
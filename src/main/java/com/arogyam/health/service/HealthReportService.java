@@ -1,9 +1,11 @@
 package com.arogyam.health.service;
 
+import com.arogyam.health.dto.GeoPolygonQueryDto;
 import com.arogyam.health.dto.HealthReportDto;
 import com.arogyam.health.entity.HealthReportEntity;
 import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.VillageEntity;
+import com.arogyam.health.event.DomainChangeEvent;
 import com.arogyam.health.exception.ResourceNotFoundException;
 import com.arogyam.health.repository.HealthReportRepository;
 import com.arogyam.health.repository.UserRepository;
@@ -11,13 +13,16 @@ import com.arogyam.health.repository.VillageRepository;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.PrecisionModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -34,7 +39,13 @@ public class HealthReportService {
     private VillageRepository villageRepository;
 
     @Autowired
-    private OutbreakPredictionService outbreakPredictionService;
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final double MAX_RADIUS_KM = 100.0;
+    private static final int MAX_SPATIAL_RESULTS = 5000;
 
     // GeometryFactory for creating Point objects
     private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
@@ -71,8 +82,9 @@ public class HealthReportService {
 
         HealthReportEntity savedReport = healthReportRepository.save(report);
 
-        // Check for potential outbreak (optional - can be implemented later)
-        checkForOutbreak(village.getId());
+        // Outbreak analysis is triggered from the outbox once this transaction commits
+        outboxService.enqueueHealthReportSubmitted(savedReport.getId(), village.getId());
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.HEALTH_REPORT, village));
 
         return savedReport;
     }
@@ -123,14 +135,16 @@ public class HealthReportService {
             report.setLocationCoordinates(point);
         }
 
-        return healthReportRepository.save(report);
+        HealthReportEntity savedReport = healthReportRepository.save(report);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.HEALTH_REPORT, report.getVillage()));
+        return savedReport;
     }
 
     public void deleteReport(Long reportId) {
-        if (!healthReportRepository.existsById(reportId)) {
-            throw new ResourceNotFoundException("Health report not found");
-        }
-        healthReportRepository.deleteById(reportId);
+        HealthReportEntity report = healthReportRepository.findById(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Health report not found"));
+        healthReportRepository.delete(report);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.HEALTH_REPORT, report.getVillage()));
     }
 
     public List<HealthReportEntity> searchBySymptom(String symptom, int days) {
@@ -160,10 +174,81 @@ public class HealthReportService {
         report.setIsVerified(true);
         report.setVerifiedBy(doctor);
 
-        return healthReportRepository.save(report);
+        HealthReportEntity savedReport = healthReportRepository.save(report);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.HEALTH_REPORT, report.getVillage()));
+        return savedReport;
+    }
+
+    @Transactional(readOnly = true)
+    public List<HealthReportEntity> findReportsWithinRadius(double latitude, double longitude, double radiusKm,
+                                                            String severityLevel, String disease,
+                                                            int days, int limit) {
+        validateCoordinate(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+        return healthReportRepository.findWithinRadius(latitude, longitude, radiusKm * 1000,
+                LocalDate.now().minusDays(days), normalizeSeverity(severityLevel),
+                normalizeDisease(disease), clampLimit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<HealthReportEntity> findReportsWithinBoundingBox(double minLatitude, double minLongitude,
+                                                                 double maxLatitude, double maxLongitude,
+                                                                 String severityLevel, String disease,
+                                                                 int days, int limit) {
+        validateCoordinate(minLatitude, minLongitude);
+        validateCoordinate(maxLatitude, maxLongitude);
+        if (minLatitude >= maxLatitude || minLongitude >= maxLongitude) {
+            throw new IllegalArgumentException("Bounding box minimums must be smaller than maximums");
+        }
+        return healthReportRepository.findWithinBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                LocalDate.now().minusDays(days), normalizeSeverity(severityLevel),
+                normalizeDisease(disease), clampLimit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<HealthReportEntity> findReportsWithinPolygon(GeoPolygonQueryDto query) {
+        List<Coordinate> ring = new ArrayList<>();
+        for (List<Double> point : query.getCoordinates()) {
+            validateCoordinate(point.get(1), point.get(0));
+            ring.add(new Coordinate(point.get(0), point.get(1)));
+        }
+        if (!ring.get(0).equals2D(ring.get(ring.size() - 1))) {
+            ring.add(new Coordinate(ring.get(0)));
+        }
+        if (ring.size() < 4) {
+            throw new IllegalArgumentException("Polygon must have at least 3 distinct points");
+        }
+
+        Polygon polygon = geometryFactory.createPolygon(ring.toArray(new Coordinate[0]));
+        if (!polygon.isValid()) {
+            throw new IllegalArgumentException("Polygon is not valid (self-intersecting or degenerate)");
+        }
+
+        return healthReportRepository.findWithinPolygon(polygon.toText(),
+                LocalDate.now().minusDays(query.getDays()), normalizeSeverity(query.getSeverityLevel()),
+                normalizeDisease(query.getSuspectedDisease()), clampLimit(query.getLimit()));
+    }
+
+    private void validateCoordinate(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinate: " + latitude + ", " + longitude);
+        }
+    }
+
+    private String normalizeSeverity(String severityLevel) {
+        if (severityLevel == null || severityLevel.isBlank()) {
+            return null;
+        }
+        return HealthReportEntity.SeverityLevel.valueOf(severityLevel.trim().toUpperCase()).name();
+    }
+
+    private String normalizeDisease(String disease) {
+        return disease == null || disease.isBlank() ? null : disease.trim();
     }
 
-    private void checkForOutbreak(Long villageId) {
-        outbreakPredictionService.analyzeOutbreakRisk(villageId);
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_SPATIAL_RESULTS));
     }
 }
@@ -0,0 +1,135 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.OutboxEventEntity;
+import com.arogyam.health.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox in batches. Each batch is claimed with FOR UPDATE SKIP LOCKED, handled and
+ * marked processed in one transaction, so a crash either commits the whole batch or leaves it
+ * pending for the next run. If a batch fails, its events are retried one per transaction so a
+ * single bad event cannot block the rest; it is parked after {@code max-attempts} failures.
+ */
+@Service
+public class OutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private List<OutboxEventHandler> handlers;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter dispatchedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        dispatchedCounter = Counter.builder("outbox.events.dispatched")
+                .description("Outbox events handled and marked processed")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("outbox.events.failed")
+                .description("Outbox event handling attempts that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (drainBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Returns the number of events claimed, so drain() knows whether more are waiting
+    public int drainBatch() {
+        List<Long> claimedIds = new ArrayList<>();
+        try {
+            Integer handled = transactionTemplate.execute(status -> {
+                List<OutboxEventEntity> batch = outboxEventRepository.lockNextBatch(maxAttempts, batchSize);
+                LocalDateTime now = LocalDateTime.now();
+                for (OutboxEventEntity event : batch) {
+                    claimedIds.add(event.getId());
+                    dispatch(event);
+                    event.setProcessedAt(now);
+                }
+                return batch.size();
+            });
+            dispatchedCounter.increment(handled != null ? handled : 0);
+            return handled != null ? handled : 0;
+        } catch (Exception e) {
+            logger.warn("Outbox batch of {} events failed, retrying individually", claimedIds.size(), e);
+            claimedIds.forEach(this::dispatchSingle);
+            return claimedIds.size();
+        }
+    }
+
+    private void dispatchSingle(Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.lockPendingById(eventId).ifPresent(event -> {
+                        dispatch(event);
+                        event.setProcessedAt(LocalDateTime.now());
+                        dispatchedCounter.increment();
+                    }));
+        } catch (Exception e) {
+            failedCounter.increment();
+            logger.error("Outbox event {} failed", eventId, e);
+            String error = e.getMessage() != null && e.getMessage().length() > 1000
+                    ? e.getMessage().substring(0, 1000) : e.getMessage();
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.recordFailure(eventId, error));
+        }
+    }
+
+    private void dispatch(OutboxEventEntity event) {
+        for (OutboxEventHandler handler : handlers) {
+            if (handler.supports(event.getEventType())) {
+                handler.handle(event);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 15 3 * * *}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(cutoff));
+        logger.info("Purged {} processed outbox events older than {}", deleted, cutoff);
+    }
+}
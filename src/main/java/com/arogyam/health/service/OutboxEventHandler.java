@@ -0,0 +1,15 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.OutboxEventEntity;
+
+/**
+ * Consumer of outbox events. Handlers run inside the dispatcher's transaction, together with
+ * marking the event processed, so database side effects happen exactly once. Handlers that
+ * call external systems (SMS, push) get at-least-once delivery and should be idempotent.
+ */
+public interface OutboxEventHandler {
+
+    boolean supports(OutboxEventEntity.EventType eventType);
+
+    void handle(OutboxEventEntity event);
+}
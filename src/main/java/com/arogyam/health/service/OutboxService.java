@@ -0,0 +1,48 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.AlertEntity;
+import com.arogyam.health.entity.OutboxEventEntity;
+import com.arogyam.health.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records side effects in the outbox table. Events join the caller's transaction, so they
+ * become visible to {@link OutboxDispatcher} only once the originating write has committed.
+ */
+@Service
+@Transactional
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    public OutboxEventEntity enqueue(OutboxEventEntity.EventType type, Long aggregateId,
+                                     Map<String, Object> payload) {
+        return outboxEventRepository.save(new OutboxEventEntity(type, aggregateId, payload));
+    }
+
+    public OutboxEventEntity enqueueHealthReportSubmitted(Long reportId, Long villageId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("reportId", reportId);
+        payload.put("villageId", villageId);
+        return enqueue(OutboxEventEntity.EventType.HEALTH_REPORT_SUBMITTED, reportId, payload);
+    }
+
+    // Alert fields are copied into the payload; the alert row itself is created by the dispatcher
+    public OutboxEventEntity enqueueAlert(AlertEntity alert) {
+        Long villageId = alert.getVillage() != null ? alert.getVillage().getId() : null;
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", alert.getType().name());
+        payload.put("title", alert.getTitle());
+        payload.put("message", alert.getMessage());
+        payload.put("priority", alert.getPriority().name());
+        payload.put("villageId", villageId);
+        payload.put("createdById", alert.getCreatedBy().getId());
+        return enqueue(OutboxEventEntity.EventType.ALERT_REQUESTED, villageId, payload);
+    }
+}
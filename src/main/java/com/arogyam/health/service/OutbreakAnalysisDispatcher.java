@@ -0,0 +1,214 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.config.AsyncConfig;
+import com.arogyam.health.repository.VillageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Queues outbreak analyses on the dedicated analysis executor, keeping at most one
+ * pending analysis per village. A village is removed from the pending set just before
+ * its analysis starts, so reports arriving while it runs schedule exactly one follow-up.
+ * The sweep brings no new data, so it joins an analysis already queued or running instead.
+ *
+ * The scheduled sweep over all villages is sharded by village id across the cluster through
+ * {@link ShardLeaseService}: every node works through whichever shards are still due, so more
+ * replicas finish a sweep sooner instead of each repeating it and raising duplicate alerts.
+ */
+@Service
+public class OutbreakAnalysisDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutbreakAnalysisDispatcher.class);
+
+    @Autowired
+    private OutbreakPredictionService outbreakPredictionService;
+
+    @Autowired
+    private VillageRepository villageRepository;
+
+    @Autowired
+    @Qualifier(AsyncConfig.OUTBREAK_ANALYSIS_EXECUTOR)
+    private ThreadPoolTaskExecutor analysisExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ShardLeaseService shardLeaseService;
+
+    @Value("${app.outbreak.analysis.shards:16}")
+    private int sweepShards;
+
+    @Value("${app.outbreak.analysis.shard-lease:PT5M}")
+    private Duration shardLease;
+
+    // Shorter than the sweep period, longer than the clock skew between nodes' cron triggers
+    @Value("${app.outbreak.analysis.shard-min-interval:PT20M}")
+    private Duration shardMinInterval;
+
+    private static final String SWEEP_JOB = "outbreak-sweep";
+
+    // Analyses by village, each completed when it finishes
+    private final Map<Long, CompletableFuture<Void>> pendingVillages = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> runningVillages = new ConcurrentHashMap<>();
+
+    private Counter submittedCounter;
+    private Counter coalescedCounter;
+    private Counter rejectedCounter;
+    private Counter shardsSweptCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        submittedCounter = Counter.builder("outbreak.analysis.submitted")
+                .description("Village analyses queued on the analysis executor")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("outbreak.analysis.coalesced")
+                .description("Analysis requests merged into an already pending analysis")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("outbreak.analysis.rejected")
+                .description("Analysis requests dropped because the queue was full")
+                .register(meterRegistry);
+        shardsSweptCounter = Counter.builder("outbreak.analysis.sweep.shards")
+                .description("Sweep shards completed by this node")
+                .register(meterRegistry);
+        Gauge.builder("outbreak.analysis.queue.depth", analysisExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Analyses waiting for a worker thread")
+                .register(meterRegistry);
+        Gauge.builder("outbreak.analysis.pending.villages", pendingVillages, Map::size)
+                .description("Villages with an analysis queued but not yet started")
+                .register(meterRegistry);
+    }
+
+    public void requestAnalysis(Long villageId) {
+        if (villageId == null) {
+            return;
+        }
+        if (enqueue(villageId, false) == null) {
+            // The next report or the scheduled sweep will pick this village up again
+            rejectedCounter.increment();
+            logger.warn("Outbreak analysis queue full, dropping analysis for village {}", villageId);
+        }
+    }
+
+    // Returns the village's pending analysis, queuing one if there is none. When the queue is full
+    // it runs the analysis on the calling thread if asked to, and otherwise returns null.
+    private CompletableFuture<Void> enqueue(Long villageId, boolean runInlineIfFull) {
+        CompletableFuture<Void> analysis = new CompletableFuture<>();
+        CompletableFuture<Void> pending = pendingVillages.putIfAbsent(villageId, analysis);
+        if (pending != null) {
+            coalescedCounter.increment();
+            return pending;
+        }
+
+        try {
+            analysisExecutor.execute(() -> runAnalysis(villageId, analysis));
+            submittedCounter.increment();
+            return analysis;
+        } catch (TaskRejectedException e) {
+            if (runInlineIfFull) {
+                runAnalysis(villageId, analysis);
+                return analysis;
+            }
+            pendingVillages.remove(villageId, analysis);
+            // Releases a sweep that joined it in the meantime
+            analysis.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private void runAnalysis(Long villageId, CompletableFuture<Void> analysis) {
+        pendingVillages.remove(villageId, analysis);
+        runningVillages.put(villageId, analysis);
+        try {
+            analyze(villageId);
+        } finally {
+            runningVillages.remove(villageId, analysis);
+            analysis.complete(null);
+        }
+    }
+
+    @Scheduled(cron = "${app.outbreak.analysis.cron:0 */30 * * * *}")
+    public void performScheduledAnalysis() {
+        OptionalInt shard;
+        while ((shard = shardLeaseService.claimNextShard(SWEEP_JOB, sweepShards, shardLease, shardMinInterval)).isPresent()) {
+            if (sweepShard(shard.getAsInt())) {
+                shardLeaseService.complete(SWEEP_JOB, shard.getAsInt());
+                shardsSweptCounter.increment();
+            }
+        }
+    }
+
+    // Analyzes the shard's villages on the analysis executor and waits for them, renewing the
+    // lease as it goes. Returns false if the lease was lost, leaving the shard for another node.
+    private boolean sweepShard(int shard) {
+        List<Long> villageIds = villageRepository.findIdsByShard(shard, sweepShards);
+        long renewEveryNanos = shardLease.toNanos() / 3;
+        long lastRenewal = System.nanoTime();
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(villageIds.size());
+        for (Long villageId : villageIds) {
+            // Joins the village's running or queued analysis. With the queue full, analyzes on the
+            // sweep thread, which also slows submission down.
+            CompletableFuture<Void> running = runningVillages.get(villageId);
+            inFlight.add(running != null ? running : enqueue(villageId, true));
+            if (System.nanoTime() - lastRenewal > renewEveryNanos) {
+                if (!shardLeaseService.renew(SWEEP_JOB, shard, shardLease)) {
+                    logger.warn("Lost lease on outbreak sweep shard {}, leaving it to another node", shard);
+                    return false;
+                }
+                lastRenewal = System.nanoTime();
+            }
+        }
+
+        for (CompletableFuture<Void> analysis : inFlight) {
+            while (true) {
+                try {
+                    analysis.get(Math.max(1, renewEveryNanos), TimeUnit.NANOSECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    if (!shardLeaseService.renew(SWEEP_JOB, shard, shardLease)) {
+                        logger.warn("Lost lease on outbreak sweep shard {}, leaving it to another node", shard);
+                        return false;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        logger.debug("Swept outbreak shard {} ({} villages)", shard, villageIds.size());
+        return true;
+    }
+
+    private void analyze(Long villageId) {
+        try {
+            outbreakPredictionService.analyzeOutbreakRisk(villageId);
+        } catch (Exception e) {
+            logger.error("Error analyzing village {}", villageId, e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.OutboxEventEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Analysis is only requested once the report is committed, so it always sees the new report
+@Component
+public class OutbreakAnalysisOutboxHandler implements OutboxEventHandler {
+
+    @Autowired
+    private OutbreakAnalysisDispatcher outbreakAnalysisDispatcher;
+
+    @Override
+    public boolean supports(OutboxEventEntity.EventType eventType) {
+        return eventType == OutboxEventEntity.EventType.HEALTH_REPORT_SUBMITTED;
+    }
+
+    @Override
+    public void handle(OutboxEventEntity event) {
+        Object villageId = event.getPayload().get("villageId");
+        if (villageId instanceof Number) {
+            outbreakAnalysisDispatcher.requestAnalysis(((Number) villageId).longValue());
+        }
+    }
+}
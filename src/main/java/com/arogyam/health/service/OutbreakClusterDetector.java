@@ -0,0 +1,174 @@
+package com.arogyam.health.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid-bucketed DBSCAN over (location, report date). A point is a core point when at least
+ * {@code minPoints} reports lie within {@code radiusKm} and {@code maxDayGap} days of it;
+ * clusters are the connected components of core points plus their border points.
+ * Village boundaries play no part, so clusters straddling several villages are found.
+ */
+public class OutbreakClusterDetector {
+
+    private static final int UNVISITED = 0;
+    private static final int NOISE = -1;
+
+    private final double radiusKm;
+    private final int maxDayGap;
+    private final int minPoints;
+
+    public OutbreakClusterDetector(double radiusKm, int maxDayGap, int minPoints) {
+        this.radiusKm = radiusKm;
+        this.maxDayGap = maxDayGap;
+        this.minPoints = minPoints;
+    }
+
+    // Full pass over the index (scheduled sweep)
+    public List<Cluster> detectAll(SpatialGridIndex index) {
+        int[] labels = new int[index.size()];
+        SpatialGridIndex.IntList neighbours = new SpatialGridIndex.IntList();
+        SpatialGridIndex.IntList queue = new SpatialGridIndex.IntList();
+        List<Cluster> clusters = new ArrayList<>();
+        int clusterId = 0;
+
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] != UNVISITED) {
+                continue;
+            }
+            index.neighbours(i, radiusKm, maxDayGap, neighbours);
+            if (neighbours.size() < minPoints) {
+                labels[i] = NOISE;
+                continue;
+            }
+
+            clusterId++;
+            labels[i] = clusterId;
+            SpatialGridIndex.IntList members = new SpatialGridIndex.IntList();
+            members.add(i);
+            queue.clear();
+            copy(neighbours, queue);
+
+            for (int q = 0; q < queue.size(); q++) {
+                int j = queue.get(q);
+                if (labels[j] == NOISE) {
+                    labels[j] = clusterId;
+                    members.add(j);
+                }
+                if (labels[j] != UNVISITED) {
+                    continue;
+                }
+                labels[j] = clusterId;
+                members.add(j);
+                index.neighbours(j, radiusKm, maxDayGap, neighbours);
+                if (neighbours.size() >= minPoints) {
+                    copy(neighbours, queue);
+                }
+            }
+            clusters.add(summarize(index, members));
+        }
+        return clusters;
+    }
+
+    /**
+     * Expands the cluster containing a newly added point, touching only that cluster's
+     * neighbourhood. Returns null when the point is not density-reachable from a core point.
+     */
+    public Cluster expandFrom(SpatialGridIndex index, int start, BitSet visited) {
+        SpatialGridIndex.IntList neighbours = new SpatialGridIndex.IntList();
+        index.neighbours(start, radiusKm, maxDayGap, neighbours);
+
+        SpatialGridIndex.IntList queue = new SpatialGridIndex.IntList();
+        if (neighbours.size() >= minPoints) {
+            queue.add(start);
+        } else {
+            // Border point: the cluster is reachable through any core neighbour
+            SpatialGridIndex.IntList candidateNeighbours = new SpatialGridIndex.IntList();
+            for (int n = 0; n < neighbours.size(); n++) {
+                int candidate = neighbours.get(n);
+                index.neighbours(candidate, radiusKm, maxDayGap, candidateNeighbours);
+                if (candidateNeighbours.size() >= minPoints) {
+                    queue.add(candidate);
+                    break;
+                }
+            }
+        }
+        if (queue.size() == 0 || visited.get(queue.get(0))) {
+            return null;
+        }
+
+        SpatialGridIndex.IntList members = new SpatialGridIndex.IntList();
+        BitSet seen = new BitSet(index.size());
+        seen.set(queue.get(0));
+        for (int q = 0; q < queue.size(); q++) {
+            int j = queue.get(q);
+            members.add(j);
+            visited.set(j);
+            index.neighbours(j, radiusKm, maxDayGap, neighbours);
+            if (neighbours.size() < minPoints) {
+                continue;
+            }
+            for (int n = 0; n < neighbours.size(); n++) {
+                int k = neighbours.get(n);
+                if (!seen.get(k)) {
+                    seen.set(k);
+                    queue.add(k);
+                }
+            }
+        }
+        return summarize(index, members);
+    }
+
+    private static void copy(SpatialGridIndex.IntList from, SpatialGridIndex.IntList to) {
+        for (int i = 0; i < from.size(); i++) {
+            to.add(from.get(i));
+        }
+    }
+
+    private static Cluster summarize(SpatialGridIndex index, SpatialGridIndex.IntList members) {
+        double latSum = 0;
+        double lngSum = 0;
+        int firstDay = Integer.MAX_VALUE;
+        int lastDay = Integer.MIN_VALUE;
+        Map<Long, Integer> casesByVillage = new HashMap<>();
+
+        for (int m = 0; m < members.size(); m++) {
+            int i = members.get(m);
+            latSum += index.latitude(i);
+            lngSum += index.longitude(i);
+            firstDay = Math.min(firstDay, index.epochDay(i));
+            lastDay = Math.max(lastDay, index.epochDay(i));
+            casesByVillage.merge(index.villageId(i), 1, Integer::sum);
+        }
+
+        int size = members.size();
+        double centroidLat = latSum / size;
+        double centroidLng = lngSum / size;
+        double radius = 0;
+        for (int m = 0; m < size; m++) {
+            int i = members.get(m);
+            radius = Math.max(radius, SpatialGridIndex.distanceKm(centroidLat, centroidLng,
+                    index.latitude(i), index.longitude(i)));
+        }
+        return new Cluster(size, centroidLat, centroidLng, radius, firstDay, lastDay, casesByVillage);
+    }
+
+    public record Cluster(int caseCount,
+                          double centroidLatitude,
+                          double centroidLongitude,
+                          double radiusKm,
+                          int firstEpochDay,
+                          int lastEpochDay,
+                          Map<Long, Integer> casesByVillage) {
+
+        public Long dominantVillageId() {
+            return casesByVillage.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.config.AsyncConfig;
+import com.arogyam.health.entity.AlertEntity;
+import com.arogyam.health.entity.VillageEntity;
+import com.arogyam.health.repository.ClusterAlertRepository;
+import com.arogyam.health.repository.HealthReportRepository;
+import com.arogyam.health.repository.VillageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Detects outbreak clusters across village boundaries. New reports are added to an in-memory
+ * {@link SpatialGridIndex} and only the cluster around each new point is re-expanded; the
+ * scheduled sweep rebuilds the index from the database for the analysis window and runs a full
+ * DBSCAN pass. Cluster alerts go through the outbox like every other alert.
+ *
+ * Every node rebuilds its own index, but the full pass runs on one node per sweep interval
+ * under a {@link ShardLeaseService} lease. Whether a cell was already alerted is decided in
+ * cluster_alerts, so nodes detecting the same cluster, or a node after a restart, do not
+ * announce it again.
+ */
+@Service
+public class OutbreakClusterService {
+    private static final Logger logger = LoggerFactory.getLogger(OutbreakClusterService.class);
+
+    @Autowired
+    private HealthReportRepository healthReportRepository;
+
+    @Autowired
+    private VillageRepository villageRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ClusterAlertRepository clusterAlertRepository;
+
+    @Autowired
+    private ShardLeaseService shardLeaseService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier(AsyncConfig.OUTBREAK_ANALYSIS_EXECUTOR)
+    private ThreadPoolTaskExecutor analysisExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbreak.cluster.radius-km:2.0}")
+    private double radiusKm;
+
+    @Value("${app.outbreak.cluster.max-day-gap:3}")
+    private int maxDayGap;
+
+    @Value("${app.outbreak.cluster.min-cases:5}")
+    private int minCases;
+
+    @Value("${app.outbreak.cluster.window-days:14}")
+    private int windowDays;
+
+    @Value("${app.outbreak.cluster.realert-hours:24}")
+    private int realertHours;
+
+    @Value("${app.outbreak.cluster.sweep-lease:PT10M}")
+    private Duration sweepLease;
+
+    // Shorter than the sweep period, longer than the clock skew between nodes' cron triggers
+    @Value("${app.outbreak.cluster.sweep-min-interval:PT20M}")
+    private Duration sweepMinInterval;
+
+    private static final String SWEEP_JOB = "cluster-sweep";
+
+    private OutbreakClusterDetector detector;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    // Guarded by this; replaced wholesale by the sweep
+    private SpatialGridIndex index;
+
+    private final AtomicBoolean scanPending = new AtomicBoolean();
+
+    // Last alert this node raised or saw claimed per centroid cell; saves a database round trip
+    // for clusters that are re-detected on every report. cluster_alerts has the final say.
+    private final Map<Long, AlertedCluster> alertedClusters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        detector = new OutbreakClusterDetector(radiusKm, maxDayGap, minCases);
+        index = new SpatialGridIndex(radiusKm);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        Gauge.builder("outbreak.cluster.index.points", this, service -> service.indexSize())
+                .description("Report locations held in the in-memory cluster index")
+                .register(meterRegistry);
+    }
+
+    // Called for each submitted report; concurrent requests collapse into a single scan
+    public void requestIncrementalScan() {
+        if (!scanPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            analysisExecutor.execute(() -> {
+                scanPending.set(false);
+                try {
+                    scanNewReports();
+                } catch (Exception e) {
+                    logger.error("Incremental cluster scan failed", e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            scanPending.set(false);
+            logger.warn("Analysis queue full, cluster scan deferred to the next report or sweep");
+        }
+    }
+
+    public synchronized void scanNewReports() {
+        int firstNew = index.size();
+        loadInto(index, index.getMaxReportId());
+
+        BitSet visited = new BitSet(index.size());
+        for (int i = firstNew; i < index.size(); i++) {
+            if (visited.get(i)) {
+                continue;
+            }
+            OutbreakClusterDetector.Cluster cluster = detector.expandFrom(index, i, visited);
+            if (cluster != null) {
+                maybeAlert(cluster);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.outbreak.cluster.sweep-cron:0 */30 * * * *}")
+    public void performClusterSweep() {
+        // Build the new index off-lock so incremental scans are not blocked meanwhile. Every node
+        // rebuilds, which also drops reports that have left the analysis window.
+        SpatialGridIndex rebuilt = new SpatialGridIndex(radiusKm);
+        loadInto(rebuilt, 0);
+
+        // The full pass only needs to run on one node per interval
+        if (shardLeaseService.claimNextShard(SWEEP_JOB, 1, sweepLease, sweepMinInterval).isPresent()) {
+            List<OutbreakClusterDetector.Cluster> clusters = detector.detectAll(rebuilt);
+            logger.info("Cluster sweep found {} clusters across {} reports", clusters.size(), rebuilt.size());
+            clusters.forEach(this::maybeAlert);
+            writeTransaction.executeWithoutResult(status -> clusterAlertRepository.deleteExpired(realertHours));
+            shardLeaseService.complete(SWEEP_JOB, 0);
+        }
+
+        synchronized (this) {
+            index = rebuilt;
+        }
+        // Pick up reports submitted while the sweep was running
+        scanNewReports();
+
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(realertHours);
+        alertedClusters.values().removeIf(alerted -> alerted.alertedAt().isBefore(cutoff));
+    }
+
+    private void loadInto(SpatialGridIndex target, long afterId) {
+        LocalDate startDate = LocalDate.now().minusDays(windowDays);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<HealthReportRepository.ReportPoint> points =
+                         healthReportRepository.streamReportPoints(afterId, startDate)) {
+                points.forEach(point -> target.add(
+                        point.getId().longValue(),
+                        point.getLatitude().doubleValue(),
+                        point.getLongitude().doubleValue(),
+                        point.getEpochDay().intValue(),
+                        point.getVillageId().longValue()));
+            }
+        });
+    }
+
+    private void maybeAlert(OutbreakClusterDetector.Cluster cluster) {
+        // Only clusters with recent cases are actionable
+        if (cluster.lastEpochDay() < LocalDate.now().minusDays(maxDayGap).toEpochDay()) {
+            return;
+        }
+
+        long cellKey = centroidCell(cluster);
+        LocalDateTime now = LocalDateTime.now();
+        AlertedCluster candidate = new AlertedCluster(cluster.caseCount(), now);
+        // Atomic, so the sweep and an incremental scan cannot both pass the local check
+        AlertedCluster recorded = alertedClusters.compute(cellKey, (cell, previous) ->
+                previous != null
+                        && previous.alertedAt().isAfter(now.minusHours(realertHours))
+                        && cluster.caseCount() < previous.caseCount() * 3 / 2 ? previous : candidate);
+        if (recorded != candidate) {
+            return;
+        }
+
+        try {
+            // The claim and the outbox event commit together, so a failed enqueue frees the cell
+            writeTransaction.executeWithoutResult(status -> {
+                if (clusterAlertRepository.claim(cellKey, cluster.caseCount(), realertHours) > 0) {
+                    generateClusterAlert(cluster);
+                } else {
+                    logger.debug("Cluster at cell {} already alerted", cellKey);
+                }
+            });
+        } catch (RuntimeException e) {
+            alertedClusters.remove(cellKey, candidate);
+            throw e;
+        }
+    }
+
+    private void generateClusterAlert(OutbreakClusterDetector.Cluster cluster) {
+        List<VillageEntity> villages = villageRepository.findAllById(cluster.casesByVillage().keySet());
+        String villageNames = villages.stream()
+                .map(VillageEntity::getName)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        VillageEntity dominantVillage = villages.stream()
+                .filter(v -> v.getId().equals(cluster.dominantVillageId()))
+                .findFirst()
+                .orElse(null);
+
+        AlertEntity.AlertPriority priority = cluster.caseCount() >= minCases * 2 || villages.size() > 1 ?
+                AlertEntity.AlertPriority.CRITICAL :
+                AlertEntity.AlertPriority.HIGH;
+
+        String message = String.format(
+                "Alert: %d cases clustered within %.1f km of (%.5f, %.5f) between %s and %s, " +
+                        "spanning %d village(s): %s. Immediate investigation recommended.",
+                cluster.caseCount(),
+                cluster.radiusKm(),
+                cluster.centroidLatitude(),
+                cluster.centroidLongitude(),
+                LocalDate.ofEpochDay(cluster.firstEpochDay()),
+                LocalDate.ofEpochDay(cluster.lastEpochDay()),
+                villages.size(),
+                villageNames
+        );
+        if (message.length() > 1000) {
+            message = message.substring(0, 997) + "...";
+        }
+
+        AlertEntity alert = new AlertEntity();
+        alert.setType(AlertEntity.AlertType.OUTBREAK_WARNING);
+        alert.setTitle("Outbreak Cluster Detected");
+        alert.setMessage(message);
+        alert.setPriority(priority);
+        alert.setVillage(dominantVillage);
+        alert.setCreatedBy(userService.getSystemUser());
+
+        outboxService.enqueueAlert(alert);
+    }
+
+    private long centroidCell(OutbreakClusterDetector.Cluster cluster) {
+        double cellDegrees = radiusKm / 111.32;
+        long latCell = (long) Math.floor(cluster.centroidLatitude() / cellDegrees);
+        long lngCell = (long) Math.floor(cluster.centroidLongitude() / cellDegrees);
+        return (latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private synchronized int indexSize() {
+        return index.size();
+    }
+
+    private record AlertedCluster(int caseCount, LocalDateTime alertedAt) {
+    }
+}
@@ -2,14 +2,11 @@ package com.arogyam.health.service;
 
 import com.arogyam.health.entity.*;
 import com.arogyam.health.repository.HealthReportRepository;
-import com.arogyam.health.repository.UserRepository;
 import com.arogyam.health.repository.VillageRepository;
 import com.arogyam.health.repository.WaterQualityReportRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -31,16 +28,19 @@ public class OutbreakPredictionService {
     private VillageRepository villageRepository;
 
     @Autowired
-    private AlertService alertService;
+    private OutboxService outboxService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
+
+    @Autowired
+    private SymptomBaselineService symptomBaselineService;
 
     private static final int ANALYSIS_WINDOW_DAYS = 7;
     private static final int OUTBREAK_THRESHOLD = 5; // 5 or more similar cases
     private static final double WATER_RISK_THRESHOLD = 0.7; // 70% contaminated sources
 
-    @Async
+    // Runs on the analysis executor; callers go through OutbreakAnalysisDispatcher
     public void analyzeOutbreakRisk(Long villageId) {
         VillageEntity village = villageRepository.findById(villageId).orElse(null);
         if (village == null) return;
@@ -66,6 +66,7 @@ public class OutbreakPredictionService {
         // Calculate outbreak risk score
         double outbreakRisk = calculateOutbreakRisk(
                 symptomFrequency,
+                baselineRisk(village, recentReports),
                 waterRiskFactor,
                 recentReports.size()
         );
@@ -88,6 +89,18 @@ public class OutbreakPredictionService {
                 ));
     }
 
+    // Today's counts against the village's own history; NaN until the baselines have warmed up
+    private double baselineRisk(VillageEntity village, List<HealthReportEntity> recentReports) {
+        LocalDate today = LocalDate.now();
+        List<HealthReportEntity> todayReports = recentReports.stream()
+                .filter(report -> today.equals(report.getReportDate()))
+                .collect(Collectors.toList());
+        if (todayReports.isEmpty()) {
+            return Double.NaN;
+        }
+        return symptomBaselineService.scoreVillage(village, analyzeSymptomPatterns(todayReports));
+    }
+
     private double analyzeWaterQualityRisk(String district) {
         // FIXED: Using proper district parameter
         if (district == null || district.isEmpty()) {
@@ -118,6 +131,7 @@ public class OutbreakPredictionService {
 
     private double calculateOutbreakRisk(
             Map<String, Long> symptoms,
+            double baselineRisk,
             double waterRisk,
             int totalReports) {
 
@@ -131,8 +145,10 @@ public class OutbreakPredictionService {
                 .max()
                 .orElse(0);
 
-        // Calculate base risk from symptom clustering
-        double symptomRisk = Math.min(1.0, (double) maxSymptomCount / OUTBREAK_THRESHOLD);
+        // Deviation from the village's baseline once warmed up; static count threshold before that
+        double symptomRisk = !Double.isNaN(baselineRisk) ?
+                baselineRisk :
+                Math.min(1.0, (double) maxSymptomCount / OUTBREAK_THRESHOLD);
 
         // Factor in water quality (70% symptoms, 30% water)
         double combinedRisk = (symptomRisk * 0.7) + (waterRisk * 0.3);
@@ -181,27 +197,9 @@ public class OutbreakPredictionService {
         alert.setPriority(priority);
         alert.setVillage(village);
 
-        UserEntity systemUser = userRepository.findFirstByRoleOrderByIdAsc(UserRole.ADMIN)
-                .or(() -> userRepository.findFirstByRoleOrderByIdAsc(UserRole.HEALTH_OFFICIAL))
-                .or(() -> userRepository.findFirstByOrderByIdAsc())
-                .orElseThrow(() -> new IllegalStateException("Cannot create alert without a valid creator user"));
-        alert.setCreatedBy(systemUser);
-
-        alertService.createAlert(alert);
-    }
+        alert.setCreatedBy(userService.getSystemUser());
 
-    @Scheduled(cron = "${app.outbreak.analysis.cron:0 */30 * * * *}")
-    public void performScheduledAnalysis() {
-        // This method runs periodically to analyze all villages
-        List<VillageEntity> villages = villageRepository.findAll();
-
-        for (VillageEntity village : villages) {
-            try {
-                analyzeOutbreakRisk(village.getId());
-            } catch (Exception e) {
-                logger.error("Error analyzing village {}", village.getName(), e);
-            }
-        }
+        outboxService.enqueueAlert(alert);
     }
 
     // Additional helper method to get outbreak summary
@@ -219,7 +217,8 @@ public class OutbreakPredictionService {
 
         Map<String, Long> symptoms = analyzeSymptomPatterns(recentReports);
         double waterRisk = analyzeWaterQualityRisk(village.getDistrict());
-        double outbreakRisk = calculateOutbreakRisk(symptoms, waterRisk, recentReports.size());
+        double baselineRisk = baselineRisk(village, recentReports);
+        double outbreakRisk = calculateOutbreakRisk(symptoms, baselineRisk, waterRisk, recentReports.size());
 
         return Map.of(
                 "villageName", village.getName(),
@@ -0,0 +1,100 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.dto.ApiResponseDto;
+import com.arogyam.health.event.DomainChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+
+/**
+ * The public health advisory, rendered once into the exact JSON bytes the endpoint returns. It is
+ * rebuilt when a HIGH or CRITICAL alert changes, so serving it needs no query and no serialization.
+ *
+ * The periodic refresh picks up alerts written on other nodes. The ETag is a hash of the advisory
+ * in canonical form (alerts ordered by id, map keys sorted), so every node and every restart hands
+ * out the same tag for the same advisory. It is weak: nodes render the same advisory with different
+ * response timestamps, and Tomcat does not compress responses with a strong ETag.
+ */
+@Component
+public class PublicAdvisorySnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(PublicAdvisorySnapshot.class);
+
+    public record Snapshot(byte[] body, String etag) {
+    }
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot current;
+
+    private ObjectWriter canonicalWriter;
+
+    @PostConstruct
+    void init() {
+        canonicalWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
+
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        if (event.type() == DomainChangeEvent.Type.ALERT && event.highPriorityAlert()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.advisory.refresh-interval-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public synchronized Snapshot rebuild() {
+        try {
+            Map<String, Object> advisory = dashboardService.getPublicHealthAdvisory();
+            String etag = "W/\"" + DigestUtils.md5DigestAsHex(canonicalWriter.writeValueAsBytes(advisory)) + "\"";
+
+            // Keep the existing bytes when nothing changed, so the response timestamp stays stable
+            Snapshot previous = current;
+            if (previous != null && previous.etag().equals(etag)) {
+                return previous;
+            }
+
+            byte[] body = objectMapper.writeValueAsBytes(
+                    ApiResponseDto.success("Health advisory retrieved successfully", advisory));
+            current = new Snapshot(body, etag);
+            logger.debug("Rebuilt public health advisory snapshot ({} bytes)", body.length);
+            return current;
+        } catch (Exception e) {
+            // Keep serving the last good advisory rather than failing the public endpoint
+            logger.error("Failed to rebuild public health advisory snapshot", e);
+            if (current == null) {
+                throw new IllegalStateException("Public health advisory is not available", e);
+            }
+            return current;
+        }
+    }
+}
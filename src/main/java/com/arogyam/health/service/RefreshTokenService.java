@@ -0,0 +1,164 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.RefreshTokenEntity;
+import com.arogyam.health.entity.UserEntity;
+import com.arogyam.health.exception.UnauthorizedException;
+import com.arogyam.health.repository.RefreshTokenRepository;
+import com.arogyam.health.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens, one per user and device. Tokens are random opaque strings and only
+ * their SHA-256 is stored. Every refresh replaces the token; presenting a replaced token again
+ * means it was copied, so that device's session is revoked.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    public record IssuedToken(String token, String deviceId, LocalDateTime expiresAt) {
+    }
+
+    public record Rotation(UserEntity user, IssuedToken refreshToken) {
+    }
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.jwt.refresh-expiration:P30D}")
+    private Duration refreshExpiration;
+
+    @Value("${app.jwt.max-devices:10}")
+    private int maxDevices;
+
+    // Two tabs refreshing at once present the same token; the loser is rejected but not treated as theft
+    @Value("${app.jwt.refresh-reuse-grace:PT10S}")
+    private Duration reuseGrace;
+
+    public IssuedToken issue(UserEntity user, String deviceId) {
+        String device = StringUtils.hasText(deviceId) ? deviceId.trim() : UUID.randomUUID().toString();
+        String token = newToken();
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshTokenEntity entity = refreshTokenRepository.findByUserIdAndDeviceId(user.getId(), device)
+                .orElseGet(() -> {
+                    RefreshTokenEntity created = new RefreshTokenEntity();
+                    created.setUserId(user.getId());
+                    created.setDeviceId(device);
+                    created.setCreatedAt(now);
+                    return created;
+                });
+        entity.setTokenHash(hash(token));
+        entity.setPreviousTokenHash(null);
+        entity.setExpiresAt(now.plus(refreshExpiration));
+        entity.setLastUsedAt(now);
+        refreshTokenRepository.save(entity);
+
+        evictExtraDevices(user.getId());
+        return new IssuedToken(token, device, entity.getExpiresAt());
+    }
+
+    // Revocations made while rejecting the token must survive the exception
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String refreshToken) {
+        String oldHash = hash(refreshToken);
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshTokenEntity entity = refreshTokenRepository.findByTokenHash(oldHash).orElse(null);
+        if (entity == null) {
+            refreshTokenRepository.findByPreviousTokenHash(oldHash).ifPresent(replaced -> {
+                if (replaced.getLastUsedAt().plus(reuseGrace).isBefore(now)) {
+                    logger.warn("Refresh token reuse detected for user {} device {}; revoking session",
+                            replaced.getUserId(), replaced.getDeviceId());
+                    refreshTokenRepository.delete(replaced);
+                }
+            });
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        if (entity.getExpiresAt().isBefore(now)) {
+            refreshTokenRepository.delete(entity);
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        UserEntity user = userRepository.findById(entity.getUserId()).orElse(null);
+        if (user == null || !user.isActive()) {
+            refreshTokenRepository.delete(entity);
+            throw new UnauthorizedException("User is no longer active");
+        }
+
+        String token = newToken();
+        LocalDateTime expiresAt = now.plus(refreshExpiration);
+        if (refreshTokenRepository.rotate(entity.getId(), oldHash, hash(token), expiresAt, now) == 0) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        return new Rotation(user, new IssuedToken(token, entity.getDeviceId(), expiresAt));
+    }
+
+    public boolean revoke(String refreshToken) {
+        return refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .map(entity -> {
+                    refreshTokenRepository.delete(entity);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    public int revokeAll(Long userId) {
+        return refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 45 3 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private void evictExtraDevices(Long userId) {
+        List<RefreshTokenEntity> tokens = refreshTokenRepository.findByUserIdOrderByLastUsedAtDesc(userId);
+        if (tokens.size() > maxDevices) {
+            refreshTokenRepository.deleteAll(tokens.subList(maxDevices, tokens.size()));
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
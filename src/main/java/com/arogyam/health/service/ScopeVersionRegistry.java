@@ -0,0 +1,94 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.event.DomainChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters per data scope (everything, a change type, a district, a village), bumped
+ * after each committed write. ETags are built from the counter, so answering a conditional GET
+ * needs one map lookup and no query.
+ *
+ * Counters are per node. The ETag includes a node epoch so versions from another node never
+ * match, and a time bucket equal to the dashboard cache TTL so writes made on other nodes show up
+ * within the same bound as the caches. Date-windowed views also roll over at midnight.
+ */
+@Component
+public class ScopeVersionRegistry {
+
+    private static final String ALL = "all";
+
+    private final String nodeEpoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Value("${app.cache.dashboard.ttl:PT10M}")
+    private Duration maxStaleness;
+
+    public static String all() {
+        return ALL;
+    }
+
+    public static String all(DomainChangeEvent.Type type) {
+        return type.name() + ":" + ALL;
+    }
+
+    public static String district(String district) {
+        return "district:" + district;
+    }
+
+    public static String district(DomainChangeEvent.Type type, String district) {
+        return type.name() + ":district:" + district;
+    }
+
+    public static String village(Long villageId) {
+        return "village:" + villageId;
+    }
+
+    // Runs after the dashboard caches are evicted, so a new ETag is never paired with a stale entry
+    @Order(1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDomainChange(DomainChangeEvent event) {
+        bump(all());
+        bump(all(event.type()));
+        for (String district : event.districts()) {
+            bump(district(district));
+            bump(district(event.type(), district));
+        }
+        for (Long villageId : event.villageIds()) {
+            bump(village(villageId));
+        }
+    }
+
+    public long version(String scope) {
+        AtomicLong version = versions.get(scope);
+        return version != null ? version.get() : 0;
+    }
+
+    public String etag(String scope) {
+        return etag(scope, null);
+    }
+
+    // For responses that also depend on per-caller state; variant identifies that state. Weak, since
+    // the tag names the data version, not the bytes: JSON, CBOR and Smile bodies and their response
+    // timestamps differ. Tomcat also refuses to compress responses carrying a strong ETag.
+    public String etag(String scope, String variant) {
+        long bucket = System.currentTimeMillis() / Math.max(1, maxStaleness.toMillis());
+        return "W/\"" + nodeEpoch + "-" + Long.toString(version(scope), 36) + "-"
+                + Long.toString(bucket, 36) + "-" + LocalDate.now().toEpochDay()
+                + (variant != null ? "-" + variant : "") + "\"";
+    }
+
+    private void bump(String scope) {
+        versions.computeIfAbsent(scope, key -> new AtomicLong()).incrementAndGet();
+    }
+}
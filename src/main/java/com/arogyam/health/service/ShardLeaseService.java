@@ -0,0 +1,59 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Splits a scheduled job into shards that nodes claim through scheduler_leases. Each node keeps
+ * claiming due shards until none are left, so the work spreads over however many replicas are
+ * running, and a shard is never worked on by two live nodes at once. An owner renews its lease
+ * while it works; if it dies, the lease runs out and the next sweep on any node reclaims the shard.
+ */
+@Service
+@Transactional
+public class ShardLeaseService {
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public static String shardName(String job, int shard) {
+        return job + ":" + shard;
+    }
+
+    /**
+     * Claims the next due shard of the job, or returns empty when every shard is either done
+     * for this interval or held by another node.
+     */
+    public OptionalInt claimNextShard(String job, int shardCount, Duration lease, Duration minInterval) {
+        schedulerLeaseRepository.createShards(job, shardCount);
+        return schedulerLeaseRepository.lockNextDueShard(job, shardCount, minInterval.toSeconds())
+                .map(shard -> {
+                    schedulerLeaseRepository.claim(shard.getName(), nodeId, lease.toSeconds());
+                    return OptionalInt.of(shard.getShard());
+                })
+                .orElse(OptionalInt.empty());
+    }
+
+    // False when this node no longer holds the shard and should stop working on it
+    public boolean renew(String job, int shard, Duration lease) {
+        return schedulerLeaseRepository.renew(shardName(job, shard), nodeId, lease.toSeconds()) > 0;
+    }
+
+    public void complete(String job, int shard) {
+        schedulerLeaseRepository.complete(shardName(job, shard), nodeId);
+    }
+}
@@ -0,0 +1,171 @@
+package com.arogyam.health.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory grid index over report locations. Points live in parallel primitive arrays and
+ * each grid cell keeps a growable int[] of point indexes, so a few million points cost
+ * roughly 40 bytes each and a neighbourhood lookup only touches the surrounding cells.
+ * Not thread-safe; callers serialize access.
+ */
+public class SpatialGridIndex {
+
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final double cellDegrees;
+    private final Map<Long, int[]> cells = new HashMap<>();
+
+    private long[] reportIds = new long[INITIAL_CAPACITY];
+    private long[] villageIds = new long[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private int size;
+    private long maxReportId;
+
+    // Cells are sized to the neighbourhood radius, so a radius query scans at most 3 rows of cells
+    public SpatialGridIndex(double cellKm) {
+        this.cellDegrees = cellKm / KM_PER_DEGREE;
+    }
+
+    public int add(long reportId, double latitude, double longitude, int epochDay, long villageId) {
+        if (size == reportIds.length) {
+            grow();
+        }
+        int index = size++;
+        reportIds[index] = reportId;
+        villageIds[index] = villageId;
+        latitudes[index] = latitude;
+        longitudes[index] = longitude;
+        epochDays[index] = epochDay;
+        maxReportId = Math.max(maxReportId, reportId);
+
+        long key = cellKey(latCell(latitude), lngCell(longitude));
+        int[] cell = cells.get(key);
+        if (cell == null) {
+            cell = new int[4];
+        } else if (cell[0] + 1 == cell.length) {
+            cell = Arrays.copyOf(cell, cell.length * 2);
+        }
+        cell[++cell[0]] = index;
+        cells.put(key, cell);
+        return index;
+    }
+
+    /**
+     * Collects every point within {@code radiusKm} and {@code maxDayGap} days of the given point,
+     * including the point itself.
+     */
+    public void neighbours(int index, double radiusKm, int maxDayGap, IntList out) {
+        out.clear();
+        double latitude = latitudes[index];
+        double longitude = longitudes[index];
+        int day = epochDays[index];
+
+        int latRange = (int) Math.ceil(radiusKm / (cellDegrees * KM_PER_DEGREE));
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        int lngRange = (int) Math.ceil(latRange / cosLat);
+        int centerLat = latCell(latitude);
+        int centerLng = lngCell(longitude);
+
+        for (int dLat = -latRange; dLat <= latRange; dLat++) {
+            for (int dLng = -lngRange; dLng <= lngRange; dLng++) {
+                int[] cell = cells.get(cellKey(centerLat + dLat, centerLng + dLng));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 1; i <= cell[0]; i++) {
+                    int candidate = cell[i];
+                    if (Math.abs(epochDays[candidate] - day) <= maxDayGap
+                            && distanceKm(latitude, longitude, latitudes[candidate], longitudes[candidate]) <= radiusKm) {
+                        out.add(candidate);
+                    }
+                }
+            }
+        }
+    }
+
+    // Equirectangular approximation; accurate to well under 1% at cluster-sized distances
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double x = Math.toRadians(lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = Math.toRadians(lat2 - lat1);
+        return Math.sqrt(x * x + y * y) * 6371.0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getMaxReportId() {
+        return maxReportId;
+    }
+
+    public long reportId(int index) {
+        return reportIds[index];
+    }
+
+    public long villageId(int index) {
+        return villageIds[index];
+    }
+
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    public int epochDay(int index) {
+        return epochDays[index];
+    }
+
+    private int latCell(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int lngCell(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private void grow() {
+        int capacity = reportIds.length * 2;
+        reportIds = Arrays.copyOf(reportIds, capacity);
+        villageIds = Arrays.copyOf(villageIds, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+    }
+
+    // Reusable int buffer so neighbourhood queries do not box indexes
+    public static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        public void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        public int get(int i) {
+            return values[i];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+    }
+}
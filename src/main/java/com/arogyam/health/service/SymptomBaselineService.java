@@ -0,0 +1,213 @@
+package com.arogyam.health.service;
+
+import com.arogyam.health.entity.SymptomBaselineEntity;
+import com.arogyam.health.entity.VillageEntity;
+import com.arogyam.health.repository.HealthReportRepository;
+import com.arogyam.health.repository.SymptomBaselineRepository;
+import com.arogyam.health.repository.VillageRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains per-(village, symptom) baselines of daily case rates per 1000 population. Completed
+ * days are folded in once by a nightly job, state is persisted to {@code symptom_baselines}
+ * periodically and reloaded at startup, so only the days missed while down are rescanned.
+ */
+@Service
+public class SymptomBaselineService {
+    private static final Logger logger = LoggerFactory.getLogger(SymptomBaselineService.class);
+
+    private static final double RATE_PER_POPULATION = 1000.0;
+
+    @Autowired
+    private HealthReportRepository healthReportRepository;
+
+    @Autowired
+    private SymptomBaselineRepository symptomBaselineRepository;
+
+    @Autowired
+    private VillageRepository villageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbreak.baseline.alpha:0.1}")
+    private double alpha;
+
+    @Value("${app.outbreak.baseline.cusum-slack:0.5}")
+    private double cusumSlack;
+
+    @Value("${app.outbreak.baseline.cusum-threshold:5.0}")
+    private double cusumThreshold;
+
+    @Value("${app.outbreak.baseline.z-threshold:3.0}")
+    private double zThreshold;
+
+    @Value("${app.outbreak.baseline.min-observed-days:14}")
+    private int minObservedDays;
+
+    @Value("${app.outbreak.baseline.warmup-days:56}")
+    private int warmupDays;
+
+    private SymptomBaselineStore store;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        store = new SymptomBaselineStore(alpha, cusumSlack, cusumThreshold, zThreshold, minObservedDays);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBaselines() {
+        List<SymptomBaselineEntity> saved = symptomBaselineRepository.findAll();
+        synchronized (store) {
+            for (SymptomBaselineEntity baseline : saved) {
+                store.restore(baseline.getVillageId(), baseline.getSymptom(), baseline.getMean(),
+                        baseline.getVariance(), baseline.getCusum(),
+                        (int) baseline.getLastFoldedDate().toEpochDay(), baseline.getObservedDays());
+            }
+        }
+        logger.info("Loaded {} symptom baselines", saved.size());
+        foldCompletedDays();
+    }
+
+    /**
+     * Scores today's symptom counts for a village against its baselines and returns the highest
+     * per-symptom score in [0, 1], or NaN when none of the symptoms has enough history yet.
+     */
+    public double scoreVillage(VillageEntity village, Map<String, Long> todayCounts) {
+        double caseUnit = caseUnit(village.getPopulation());
+        // Symptoms that only differ past the stored length share a baseline, so their counts add up
+        Map<String, Long> counts = new HashMap<>();
+        todayCounts.forEach((symptom, cases) -> counts.merge(SymptomBaselineStore.normalize(symptom), cases, Long::sum));
+        double best = Double.NaN;
+        synchronized (store) {
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                int slot = store.find(village.getId(), entry.getKey());
+                double score = store.score(slot, entry.getValue() * caseUnit, caseUnit);
+                if (!Double.isNaN(score) && (Double.isNaN(best) || score > best)) {
+                    best = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    @Scheduled(cron = "${app.outbreak.baseline.fold-cron:0 10 0 * * *}")
+    public void foldCompletedDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate earliest = yesterday.minusDays(warmupDays - 1L);
+        LocalDate start = nextDayToFold(earliest);
+        if (start.isAfter(yesterday)) {
+            return;
+        }
+
+        Map<Long, Double> caseUnits = new HashMap<>();
+        for (VillageEntity village : villageRepository.findAll()) {
+            caseUnits.put(village.getId(), caseUnit(village.getPopulation()));
+        }
+
+        for (LocalDate day = start; !day.isAfter(yesterday); day = day.plusDays(1)) {
+            List<HealthReportRepository.SymptomCount> counts = healthReportRepository.countSymptomsByVillageOnDate(day);
+            int epochDay = (int) day.toEpochDay();
+            synchronized (store) {
+                Map<Integer, Long> casesBySlot = new HashMap<>();
+                for (HealthReportRepository.SymptomCount count : counts) {
+                    int slot = store.slot(count.getVillageId().longValue(), count.getSymptom());
+                    casesBySlot.merge(slot, count.getCases().longValue(), Long::sum);
+                }
+                // Every known pair gets an observation; days without cases count as zero
+                for (int slot = 0; slot < store.size(); slot++) {
+                    double caseUnit = caseUnits.getOrDefault(store.villageId(slot), 1.0);
+                    store.observe(slot, epochDay, casesBySlot.getOrDefault(slot, 0L) * caseUnit, caseUnit);
+                }
+            }
+        }
+        logger.info("Folded symptom baselines from {} to {}", start, yesterday);
+        persistBaselines();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbreak.baseline.persist-interval-ms:300000}")
+    public void persistBaselines() {
+        BitSet dirty;
+        List<BaselineRow> snapshot = new ArrayList<>();
+        synchronized (store) {
+            dirty = store.drainDirty();
+            for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+                snapshot.add(new BaselineRow(slot, store.villageId(slot), store.symptom(slot), store.mean(slot),
+                        store.variance(slot), store.cusum(slot), LocalDate.ofEpochDay(store.lastFoldedDay(slot)),
+                        store.observedDays(slot)));
+            }
+        }
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        // One transaction per row, so a row the database rejects cannot hold back the others
+        BitSet retry = new BitSet();
+        Exception lastError = null;
+        for (BaselineRow row : snapshot) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        symptomBaselineRepository.upsert(row.villageId(), row.symptom(), row.mean(), row.variance(),
+                                row.cusum(), row.lastFoldedDate(), row.observedDays()));
+            } catch (DataIntegrityViolationException e) {
+                // Retrying would fail the same way; the row is written again after its next change
+                logger.warn("Skipping symptom baseline for village {} symptom '{}': {}",
+                        row.villageId(), row.symptom(), e.getMostSpecificCause().getMessage());
+            } catch (Exception e) {
+                // Keep the slot dirty so the next run retries it
+                retry.set(row.slot());
+                lastError = e;
+            }
+        }
+        if (lastError != null) {
+            synchronized (store) {
+                store.markDirty(retry);
+            }
+            logger.error("Failed to persist {} of {} symptom baselines, retrying on the next run",
+                    retry.cardinality(), snapshot.size(), lastError);
+        }
+    }
+
+    private LocalDate nextDayToFold(LocalDate earliest) {
+        synchronized (store) {
+            if (store.size() == 0) {
+                return earliest;
+            }
+            int oldest = Integer.MAX_VALUE;
+            for (int slot = 0; slot < store.size(); slot++) {
+                oldest = Math.min(oldest, store.lastFoldedDay(slot));
+            }
+            LocalDate next = LocalDate.ofEpochDay(oldest + 1L);
+            return next.isBefore(earliest) ? earliest : next;
+        }
+    }
+
+    // Villages without a recorded population are scored on raw counts
+    private static double caseUnit(Integer population) {
+        return population != null && population > 0 ? RATE_PER_POPULATION / population : 1.0;
+    }
+
+    private record BaselineRow(int slot, long villageId, String symptom, double mean, double variance, double cusum,
+                               LocalDate lastFoldedDate, int observedDays) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.arogyam.health.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rolling per-(village, symptom) baselines of daily case rates. Each slot keeps an EWMA mean and
+ * variance plus a one-sided CUSUM over standardized residuals, all in parallel primitive arrays,
+ * so a completed day is folded in O(1) per slot without rescanning history.
+ * Symptoms are free text from reports; they are normalized by {@link #normalize} on the way in.
+ * Not thread-safe; callers serialize access.
+ */
+public class SymptomBaselineStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Length of symptom_baselines.symptom
+    public static final int MAX_SYMPTOM_LENGTH = 100;
+
+    private final double alpha;
+    private final double cusumSlack;
+    private final double cusumThreshold;
+    private final double zThreshold;
+    private final int minObservedDays;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private long[] villageIds = new long[INITIAL_CAPACITY];
+    private String[] symptoms = new String[INITIAL_CAPACITY];
+    private double[] means = new double[INITIAL_CAPACITY];
+    private double[] variances = new double[INITIAL_CAPACITY];
+    private double[] cusums = new double[INITIAL_CAPACITY];
+    private int[] lastFoldedDays = new int[INITIAL_CAPACITY];
+    private int[] observedDays = new int[INITIAL_CAPACITY];
+    private final BitSet dirty = new BitSet();
+    private int size;
+
+    public SymptomBaselineStore(double alpha, double cusumSlack, double cusumThreshold,
+                                double zThreshold, int minObservedDays) {
+        this.alpha = alpha;
+        this.cusumSlack = cusumSlack;
+        this.cusumThreshold = cusumThreshold;
+        this.zThreshold = zThreshold;
+        this.minObservedDays = minObservedDays;
+    }
+
+    public int slot(long villageId, String symptom) {
+        symptom = normalize(symptom);
+        Integer existing = slots.get(key(villageId, symptom));
+        if (existing != null) {
+            return existing;
+        }
+        if (size == villageIds.length) {
+            grow();
+        }
+        int slot = size++;
+        villageIds[slot] = villageId;
+        symptoms[slot] = symptom;
+        lastFoldedDays[slot] = Integer.MIN_VALUE;
+        slots.put(key(villageId, symptom), slot);
+        return slot;
+    }
+
+    // Returns -1 when the pair has never been seen
+    public int find(long villageId, String symptom) {
+        Integer slot = slots.get(key(villageId, normalize(symptom)));
+        return slot != null ? slot : -1;
+    }
+
+    public void restore(long villageId, String symptom, double mean, double variance, double cusum,
+                        int lastFoldedDay, int observed) {
+        int slot = slot(villageId, symptom);
+        means[slot] = mean;
+        variances[slot] = variance;
+        cusums[slot] = cusum;
+        lastFoldedDays[slot] = lastFoldedDay;
+        observedDays[slot] = observed;
+    }
+
+    /**
+     * Folds one completed day's rate into the slot. {@code caseUnit} is the rate a single case
+     * contributes (1000 / population). Days at or before the last folded day are ignored, so
+     * replaying a day after a restart is harmless.
+     */
+    public void observe(int slot, int epochDay, double rate, double caseUnit) {
+        if (epochDay <= lastFoldedDays[slot]) {
+            return;
+        }
+        if (observedDays[slot] == 0) {
+            means[slot] = rate;
+        } else {
+            // The CUSUM only starts once the mean has settled, otherwise warm-up residuals dominate it
+            if (observedDays[slot] >= minObservedDays) {
+                double z = (rate - means[slot]) / standardDeviation(slot, caseUnit);
+                cusums[slot] = Math.max(0, cusums[slot] + z - cusumSlack);
+            }
+            double diff = rate - means[slot];
+            means[slot] += alpha * diff;
+            variances[slot] = (1 - alpha) * (variances[slot] + alpha * diff * diff);
+        }
+        lastFoldedDays[slot] = epochDay;
+        observedDays[slot]++;
+        dirty.set(slot);
+    }
+
+    /**
+     * Scores the current (partial) day against the baseline: 0 when in line with history,
+     * 1 when the EWMA z-score or the projected CUSUM crosses its threshold.
+     * Returns NaN while the slot has too little history to judge.
+     */
+    public double score(int slot, double rate, double caseUnit) {
+        if (slot < 0 || observedDays[slot] < minObservedDays) {
+            return Double.NaN;
+        }
+        double z = (rate - means[slot]) / standardDeviation(slot, caseUnit);
+        double projectedCusum = Math.max(0, cusums[slot] + z - cusumSlack);
+        double score = Math.max(z / zThreshold, projectedCusum / cusumThreshold);
+        return Math.max(0.0, Math.min(1.0, score));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long villageId(int slot) {
+        return villageIds[slot];
+    }
+
+    public String symptom(int slot) {
+        return symptoms[slot];
+    }
+
+    public double mean(int slot) {
+        return means[slot];
+    }
+
+    public double variance(int slot) {
+        return variances[slot];
+    }
+
+    public double cusum(int slot) {
+        return cusums[slot];
+    }
+
+    public int lastFoldedDay(int slot) {
+        return lastFoldedDays[slot];
+    }
+
+    public int observedDays(int slot) {
+        return observedDays[slot];
+    }
+
+    public BitSet drainDirty() {
+        BitSet drained = (BitSet) dirty.clone();
+        dirty.clear();
+        return drained;
+    }
+
+    public void markDirty(BitSet slots) {
+        dirty.or(slots);
+    }
+
+    // Poisson floor on the deviation so a village with a flat-zero history does not alarm on a single case
+    private double standardDeviation(int slot, double caseUnit) {
+        double poissonFloor = Math.sqrt(Math.max(means[slot], caseUnit) * caseUnit);
+        return Math.max(Math.sqrt(variances[slot]), poissonFloor);
+    }
+
+    // Trimmed, lower-cased and cut to the column length, so long free text cannot break persisting
+    public static String normalize(String symptom) {
+        String normalized = symptom.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_SYMPTOM_LENGTH ? normalized.substring(0, MAX_SYMPTOM_LENGTH) : normalized;
+    }
+
+    private static String key(long villageId, String symptom) {
+        return villageId + ":" + symptom;
+    }
+
+    private void grow() {
+        int capacity = villageIds.length * 2;
+        villageIds = Arrays.copyOf(villageIds, capacity);
+        symptoms = Arrays.copyOf(symptoms, capacity);
+        means = Arrays.copyOf(means, capacity);
+        variances = Arrays.copyOf(variances, capacity);
+        cusums = Arrays.copyOf(cusums, capacity);
+        lastFoldedDays = Arrays.copyOf(lastFoldedDays, capacity);
+        observedDays = Arrays.copyOf(observedDays, capacity);
+    }
+}
@@ -1,5 +1,6 @@
 package com.arogyam.health.service;
 
+import com.arogyam.health.dto.PageResponseDto;
 import com.arogyam.health.dto.UserRegistrationDto;
 import com.arogyam.health.dto.UserResponseDto;
 import com.arogyam.health.entity.UserEntity;
@@ -7,7 +8,9 @@ import com.arogyam.health.entity.UserRole;
 import com.arogyam.health.entity.VillageEntity;
 import com.arogyam.health.repository.UserRepository;
 import com.arogyam.health.repository.VillageRepository;
+import com.arogyam.health.security.TokenRevocationList;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +34,12 @@ public class UserService {
     @Autowired
     private VillageRepository villageRepository;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     public UserResponseDto createUser(UserRegistrationDto registrationDto) {
         // Validate input
         if (registrationDto == null) {
@@ -89,39 +98,37 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getUsersByRole(UserRole role) {
+    public PageResponseDto<UserResponseDto> getUsersByRole(UserRole role, Pageable pageable) {
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null");
         }
 
-        // Since you don't have findActiveUsersByRole, we'll filter manually
-        return userRepository.findAll()
-                .stream()
-                .filter(user -> role.equals(user.getRole()) && user.getIsActive())
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return PageResponseDto.of(userRepository.findActiveUserSummariesByRole(role, pageable));
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getUsersByDistrict(String district) {
+    public PageResponseDto<UserResponseDto> getUsersByDistrict(String district, UserRole role, Pageable pageable) {
         if (district == null || district.trim().isEmpty()) {
             throw new IllegalArgumentException("District cannot be null or empty");
         }
 
-        return userRepository.findAll()
-                .stream()
-                .filter(user -> district.equals(user.getDistrict()) && user.getIsActive())
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return PageResponseDto.of(role != null
+                ? userRepository.findActiveUserSummariesByDistrictAndRole(district, role, pageable)
+                : userRepository.findActiveUserSummariesByDistrict(district, pageable));
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponseDto> getActiveUsers() {
-        return userRepository.findAll()
-                .stream()
-                .filter(user -> user.getIsActive())
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    public PageResponseDto<UserResponseDto> getActiveUsers(Pageable pageable) {
+        return PageResponseDto.of(userRepository.findActiveUserSummaries(pageable));
+    }
+
+    // Creator recorded on system-generated alerts
+    @Transactional(readOnly = true)
+    public UserEntity getSystemUser() {
+        return userRepository.findFirstByRoleOrderByIdAsc(UserRole.ADMIN)
+                .or(() -> userRepository.findFirstByRoleOrderByIdAsc(UserRole.HEALTH_OFFICIAL))
+                .or(() -> userRepository.findFirstByOrderByIdAsc())
+                .orElseThrow(() -> new IllegalStateException("Cannot create alert without a valid creator user"));
     }
 
     public void updateLastLogin(String username) {
@@ -188,6 +195,10 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
         user.setIsActive(false);
         userRepository.save(user);
+
+        // Sign the user out everywhere: no refreshes, and outstanding access tokens are rejected
+        refreshTokenService.revokeAll(userId);
+        tokenRevocationList.revokeUser(userId);
     }
 
     public void activateUser(Long userId) {
@@ -1,9 +1,11 @@
 package com.arogyam.health.service;
 
 import com.arogyam.health.entity.VillageEntity;
+import com.arogyam.health.event.DomainChangeEvent;
 import com.arogyam.health.exception.ResourceNotFoundException;
 import com.arogyam.health.repository.VillageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +18,16 @@ public class VillageService {
     @Autowired
     private VillageRepository villageRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public VillageEntity createVillage(VillageEntity village) {
         if (villageRepository.existsByNameAndDistrict(village.getName(), village.getDistrict())) {
             throw new IllegalArgumentException("Village already exists in this district");
         }
-        return villageRepository.save(village);
+        VillageEntity saved = villageRepository.save(village);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.VILLAGE, saved));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -46,6 +53,8 @@ public class VillageService {
 
     public VillageEntity updateVillage(Long villageId, VillageEntity update) {
         VillageEntity village = getById(villageId);
+        // The old district's views list this village too
+        DomainChangeEvent before = DomainChangeEvent.of(DomainChangeEvent.Type.VILLAGE, village);
         village.setName(update.getName());
         village.setDistrict(update.getDistrict());
         village.setState(update.getState());
@@ -53,13 +62,17 @@ public class VillageService {
         village.setLongitude(update.getLongitude());
         village.setPopulation(update.getPopulation());
         village.setPrimaryLanguage(update.getPrimaryLanguage());
-        return villageRepository.save(village);
+        VillageEntity savedVillage = villageRepository.save(village);
+
+        DomainChangeEvent after = DomainChangeEvent.of(DomainChangeEvent.Type.VILLAGE, savedVillage);
+        after.districts().addAll(before.districts());
+        eventPublisher.publishEvent(after);
+        return savedVillage;
     }
 
     public void deleteVillage(Long villageId) {
-        if (!villageRepository.existsById(villageId)) {
-            throw new ResourceNotFoundException("Village not found with id: " + villageId);
-        }
-        villageRepository.deleteById(villageId);
+        VillageEntity village = getById(villageId);
+        villageRepository.delete(village);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.VILLAGE, village));
     }
 }
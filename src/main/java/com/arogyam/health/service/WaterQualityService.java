@@ -4,11 +4,13 @@ import com.arogyam.health.dto.WaterQualityDto;
 import com.arogyam.health.entity.UserEntity;
 import com.arogyam.health.entity.VillageEntity;
 import com.arogyam.health.entity.WaterQualityEntity;
+import com.arogyam.health.event.DomainChangeEvent;
 import com.arogyam.health.exception.ResourceNotFoundException;
 import com.arogyam.health.repository.UserRepository;
 import com.arogyam.health.repository.VillageRepository;
 import com.arogyam.health.repository.WaterQualityReportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,7 +33,10 @@ public class WaterQualityService {
     private VillageRepository villageRepository;
 
     @Autowired
-    private AlertService alertService;
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public WaterQualityEntity createWaterQualityReport(WaterQualityDto reportDto, Long testerId) {
         UserEntity tester = userRepository.findById(testerId)
@@ -61,6 +66,7 @@ public class WaterQualityService {
                 report.getQualityStatus() == WaterQualityEntity.QualityStatus.HIGH_RISK) {
             createWaterContaminationAlert(village, report);
         }
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.WATER_TEST, village));
 
         return savedReport;
     }
@@ -119,14 +125,16 @@ public class WaterQualityService {
         report.setLongitude(BigDecimal.valueOf(reportDto.getLongitude()));
         report.setRemarks(reportDto.getRemarks());
 
-        return waterQualityRepository.save(report);
+        WaterQualityEntity savedReport = waterQualityRepository.save(report);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.WATER_TEST, report.getVillage()));
+        return savedReport;
     }
 
     public void deleteReport(Long reportId) {
-        if (!waterQualityRepository.existsById(reportId)) {
-            throw new ResourceNotFoundException("Water quality report not found");
-        }
-        waterQualityRepository.deleteById(reportId);
+        WaterQualityEntity report = waterQualityRepository.findById(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Water quality report not found"));
+        waterQualityRepository.delete(report);
+        eventPublisher.publishEvent(DomainChangeEvent.of(DomainChangeEvent.Type.WATER_TEST, report.getVillage()));
     }
 
     public Long getReportCountByVillage(Long villageId) {
@@ -134,14 +142,19 @@ public class WaterQualityService {
     }
 
     public WaterQualityEntity getLatestReportByVillage(Long villageId) {
-        List<WaterQualityEntity> reports = waterQualityRepository.findByVillageId(villageId);
-        if (reports.isEmpty()) {
-            throw new ResourceNotFoundException("No water quality reports found for this village");
-        }
-        // Return the most recent report (last in list if sorted by date)
-        return reports.stream()
-                .max((r1, r2) -> r1.getTestDate().compareTo(r2.getTestDate()))
-                .orElseThrow(() -> new ResourceNotFoundException("No reports found"));
+        return waterQualityRepository.findFirstByVillageIdOrderByTestDateDescIdDesc(villageId)
+                .orElseThrow(() -> new ResourceNotFoundException("No water quality reports found for this village"));
+    }
+
+    // Current status of every water source: the latest test per (village, source name)
+    @Transactional(readOnly = true)
+    public List<WaterQualityReportRepository.WaterSourceStatus> getLatestSourceStatusByVillage(Long villageId) {
+        return waterQualityRepository.findLatestPerSourceByVillage(villageId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaterQualityReportRepository.WaterSourceStatus> getLatestSourceStatusByDistrict(String district) {
+        return waterQualityRepository.findLatestPerSourceByDistrict(district);
     }
 
     private void createWaterContaminationAlert(VillageEntity village, WaterQualityEntity report) {
@@ -165,6 +178,7 @@ public class WaterQualityService {
         alert.setVillage(village);
         alert.setCreatedBy(report.getTester());
 
-        alertService.createAlert(alert);
+        // Created by OutboxDispatcher once this report commits
+        outboxService.enqueueAlert(alert);
     }
 }
@@ -0,0 +1,19 @@
+-- Runs after Hibernate schema update (spring.jpa.defer-datasource-initialization=true).
+-- Holds indexes that JPA @Index cannot express.
+
+-- Spatial indexes for report location queries (bounding box / polygon on geometry, radius on geography)
+CREATE INDEX IF NOT EXISTS idx_health_reports_location
+    ON health_reports USING GIST (location_coordinates);
+CREATE INDEX IF NOT EXISTS idx_health_reports_location_geog
+    ON health_reports USING GIST ((location_coordinates::geography));
+
+-- Change-ordered scans for the analytics snapshots (see AnalyticsSnapshotService)
+CREATE INDEX IF NOT EXISTS idx_health_reports_changed
+    ON health_reports ((COALESCE(updated_at, created_at)), id);
+CREATE INDEX IF NOT EXISTS idx_water_quality_changed
+    ON water_quality_reports ((COALESCE(updated_at, test_date)), id);
+CREATE INDEX IF NOT EXISTS idx_alerts_changed
+    ON alerts ((COALESCE(updated_at, created_at)), id);
+
+-- Superseded by idx_alerts_village_active; read state is per user now (see AlertReadStateService)
+DROP INDEX IF EXISTS idx_alerts_village_active_read;
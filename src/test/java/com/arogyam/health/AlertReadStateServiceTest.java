@@ -0,0 +1,109 @@
+package com.arogyam.health;
+
+import com.arogyam.health.entity.AlertReadStateEntity;
+import com.arogyam.health.event.DomainChangeEvent;
+import com.arogyam.health.repository.AlertReadStateRepository;
+import com.arogyam.health.repository.AlertRepository;
+import com.arogyam.health.service.AlertReadStateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlertReadStateServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final AlertReadStateRepository alertReadStateRepository = mock(AlertReadStateRepository.class);
+    private final AlertRepository alertRepository = mock(AlertRepository.class);
+    private final AlertReadStateService service = new AlertReadStateService();
+    private final AlertReadStateEntity state = new AlertReadStateEntity();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "alertReadStateRepository", alertReadStateRepository);
+        ReflectionTestUtils.setField(service, "alertRepository", alertRepository);
+        ReflectionTestUtils.setField(service, "cacheSize", 100L);
+        ReflectionTestUtils.setField(service, "cacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(service, "initCaches");
+
+        state.setUserId(USER_ID);
+        when(alertReadStateRepository.lockByUserId(USER_ID)).thenReturn(Optional.of(state));
+        when(alertReadStateRepository.findById(USER_ID)).thenReturn(Optional.of(state));
+    }
+
+    @Test
+    void unreadCountExcludesAlertsTheUserHasRead() {
+        when(alertRepository.findActiveIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(alertRepository.findActiveIdsByVillage(100L)).thenReturn(List.of(2L, 3L));
+
+        assertEquals(3, service.countUnread(USER_ID, null));
+        service.markRead(USER_ID, List.of(2L));
+
+        assertEquals(2, service.countUnread(USER_ID, null));
+        assertEquals(1, service.countUnread(USER_ID, 100L));
+        assertArrayEquals(new int[]{2}, deserialize(state.getReadAlerts()).toArray());
+    }
+
+    @Test
+    void markReadPrunesAgainstTheCachedActiveAlerts() {
+        // 1 was deactivated; 9 is newer than the cached active set and may exist on another node
+        state.setReadAlerts(serialize(RoaringBitmap.bitmapOf(1, 2, 9)));
+        when(alertRepository.findActiveIds()).thenReturn(List.of(2L, 3L, 4L));
+
+        service.markRead(USER_ID, List.of(3L));
+        service.markRead(USER_ID, List.of(4L));
+
+        assertArrayEquals(new int[]{2, 3, 4, 9}, deserialize(state.getReadAlerts()).toArray());
+        verify(alertRepository, times(1)).findActiveIds();
+    }
+
+    @Test
+    void alertChangesReloadTheActiveAlerts() {
+        when(alertRepository.findActiveIds()).thenReturn(List.of(1L), List.of(1L, 2L));
+        when(alertRepository.findActiveIdsByVillage(100L)).thenReturn(List.of(1L), List.of(1L, 2L));
+        assertEquals(1, service.countUnread(USER_ID, null));
+        assertEquals(1, service.countUnread(USER_ID, 100L));
+
+        service.onDomainChange(new DomainChangeEvent(DomainChangeEvent.Type.ALERT, Set.of(100L), Set.of(), false));
+
+        assertEquals(2, service.countUnread(USER_ID, null));
+        assertEquals(2, service.countUnread(USER_ID, 100L));
+    }
+
+    private static byte[] serialize(RoaringBitmap bitmap) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            bitmap.serialize(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        try {
+            bitmap.deserialize(ByteBuffer.wrap(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,42 @@
+package com.arogyam.health;
+
+import com.arogyam.health.security.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        String[] tokenIds = new String[10_000];
+        for (int i = 0; i < tokenIds.length; i++) {
+            tokenIds[i] = UUID.randomUUID().toString();
+            filter.add(tokenIds[i]);
+        }
+
+        for (String tokenId : tokenIds) {
+            assertTrue(filter.mightContain(tokenId));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,88 @@
+package com.arogyam.health;
+
+import com.arogyam.health.exception.GlobalExceptionHandler;
+import com.arogyam.health.exception.ServiceUnavailableException;
+import com.arogyam.health.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void hashesAndVerifiesOnThePool() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(10),
+                new SimpleMeterRegistry())) {
+            String hash = encoder.encode("secret");
+
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("other", hash));
+            // Hashes below the configured cost are flagged for rehash on login
+            try (BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(6, 1, 1, Duration.ofSeconds(10),
+                    new SimpleMeterRegistry())) {
+                assertTrue(stronger.upgradeEncoding(hash));
+            }
+        }
+    }
+
+    @Test
+    void slowHashTimesOutAsServiceUnavailable() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, Duration.ofMillis(1),
+                new SimpleMeterRegistry())) {
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                    () -> encoder.encode("secret"));
+
+            ResponseEntity<?> response = new GlobalExceptionHandler().handleServiceUnavailable(e);
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        }
+    }
+
+    @Test
+    void saturatedPoolRejectsInsteadOfQueueing() throws Exception {
+        // One thread and one queue slot: of four simultaneous hashes, at most two are accepted
+        int callers = 4;
+        ExecutorService clients = Executors.newFixedThreadPool(callers);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, Duration.ofSeconds(30),
+                new SimpleMeterRegistry())) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(clients.submit(() -> {
+                    start.await();
+                    return encoder.encode("secret");
+                }));
+            }
+            start.countDown();
+
+            int rejected = 0;
+            for (Future<String> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof ServiceUnavailableException);
+                    rejected++;
+                }
+            }
+            assertTrue(rejected >= callers - 2);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.arogyam.health;
+
+import com.arogyam.health.service.OutbreakClusterDetector;
+import com.arogyam.health.service.SpatialGridIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OutbreakClusterDetectorTest {
+
+    private static final int DAY = 20000;
+
+    @Test
+    void clusterSpanningTwoVillagesIsDetected() {
+        SpatialGridIndex index = new SpatialGridIndex(2.0);
+        // Three cases in each village, ~1 km apart across the boundary
+        for (int i = 0; i < 3; i++) {
+            index.add(i + 1, 26.1000 + i * 0.001, 91.7000, DAY + i, 1L);
+            index.add(i + 10, 26.1090 + i * 0.001, 91.7000, DAY + i, 2L);
+        }
+        // Far away and isolated
+        index.add(100, 27.0, 92.0, DAY, 3L);
+
+        List<OutbreakClusterDetector.Cluster> clusters = new OutbreakClusterDetector(2.0, 3, 5).detectAll(index);
+
+        assertEquals(1, clusters.size());
+        assertEquals(6, clusters.get(0).caseCount());
+        assertEquals(2, clusters.get(0).casesByVillage().size());
+    }
+
+    @Test
+    void casesFarApartInTimeDoNotCluster() {
+        SpatialGridIndex index = new SpatialGridIndex(2.0);
+        for (int i = 0; i < 6; i++) {
+            index.add(i + 1, 26.1, 91.7, DAY + i * 10, 1L);
+        }
+
+        assertEquals(0, new OutbreakClusterDetector(2.0, 3, 5).detectAll(index).size());
+    }
+
+    @Test
+    void incrementalExpansionFindsClusterOfNewPoint() {
+        SpatialGridIndex index = new SpatialGridIndex(2.0);
+        OutbreakClusterDetector detector = new OutbreakClusterDetector(2.0, 3, 5);
+        for (int i = 0; i < 4; i++) {
+            index.add(i + 1, 26.1, 91.7 + i * 0.001, DAY, 1L);
+        }
+        assertNull(detector.expandFrom(index, 3, new BitSet()));
+
+        int added = index.add(5, 26.1, 91.705, DAY + 1, 1L);
+        OutbreakClusterDetector.Cluster cluster = detector.expandFrom(index, added, new BitSet());
+
+        assertNotNull(cluster);
+        assertEquals(5, cluster.caseCount());
+    }
+}
@@ -0,0 +1,76 @@
+package com.arogyam.health;
+
+import com.arogyam.health.security.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    // 10 requests per minute
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(6);
+
+    @Test
+    void allowsBurstThenRejectsUntilTokenRefills() {
+        RateLimiter limiter = new RateLimiter();
+        long now = 1_000_000L;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", INTERVAL, 5, now));
+        }
+        long wait = limiter.tryAcquire("ip:1", INTERVAL, 5, now);
+        assertEquals(INTERVAL, wait);
+
+        assertTrue(limiter.tryAcquire("ip:1", INTERVAL, 5, now + wait - 1) > 0);
+        assertEquals(0, limiter.tryAcquire("ip:1", INTERVAL, 5, now + wait));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter();
+        long now = 0;
+
+        assertEquals(0, limiter.tryAcquire("ip:1", INTERVAL, 1, now));
+        assertTrue(limiter.tryAcquire("ip:1", INTERVAL, 1, now) > 0);
+        assertEquals(0, limiter.tryAcquire("ip:2", INTERVAL, 1, now));
+    }
+
+    @Test
+    void idleBucketsAreEvictedOnceRefilled() {
+        RateLimiter limiter = new RateLimiter();
+        long now = -5_000L;
+
+        limiter.tryAcquire("ip:1", INTERVAL, 3, now);
+        limiter.evictIdle(now + INTERVAL - 1);
+        assertEquals(1, limiter.size());
+
+        limiter.evictIdle(now + INTERVAL);
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void floodOfNewKeysNeitherBlocksNewClientsNorResetsReturningOnes() {
+        RateLimiter limiter = new RateLimiter(10);
+        long now = 0;
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("ip:earlier-" + i, INTERVAL, 3, now);
+        }
+        // A returning client that has used up its budget keeps polling through the flood
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:1", INTERVAL, 3, now);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:flood-" + i, INTERVAL, 3, now));
+            if (i % 20 == 0) {
+                assertTrue(limiter.tryAcquire("ip:1", INTERVAL, 3, now) > 0);
+            }
+        }
+
+        assertEquals(0, limiter.tryAcquire("ip:new", INTERVAL, 3, now));
+        assertTrue(limiter.size() <= 10);
+    }
+}
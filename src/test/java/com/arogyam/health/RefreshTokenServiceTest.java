@@ -0,0 +1,150 @@
+package com.arogyam.health;
+
+import com.arogyam.health.entity.RefreshTokenEntity;
+import com.arogyam.health.entity.UserEntity;
+import com.arogyam.health.exception.UnauthorizedException;
+import com.arogyam.health.repository.RefreshTokenRepository;
+import com.arogyam.health.repository.UserRepository;
+import com.arogyam.health.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final String TOKEN = "presented-token";
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RefreshTokenService service = new RefreshTokenService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshTokenRepository", refreshTokenRepository);
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "refreshExpiration", Duration.ofDays(30));
+        ReflectionTestUtils.setField(service, "maxDevices", 10);
+        ReflectionTestUtils.setField(service, "reuseGrace", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void rotationReplacesTheTokenWithCompareAndSet() {
+        RefreshTokenEntity entity = storedToken(LocalDateTime.now().plusDays(1));
+        UserEntity user = activeUser();
+        when(refreshTokenRepository.findByTokenHash(sha256(TOKEN))).thenReturn(Optional.of(entity));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+        when(refreshTokenRepository.rotate(eq(1L), eq(sha256(TOKEN)), anyString(), any(), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = service.rotate(TOKEN);
+
+        assertSame(user, rotation.user());
+        assertEquals("phone", rotation.refreshToken().deviceId());
+        assertNotEquals(TOKEN, rotation.refreshToken().token());
+        verify(refreshTokenRepository).rotate(eq(1L), eq(sha256(TOKEN)), eq(sha256(rotation.refreshToken().token())),
+                any(), any());
+    }
+
+    @Test
+    void losingConcurrentRotationIsRejected() {
+        when(refreshTokenRepository.findByTokenHash(sha256(TOKEN)))
+                .thenReturn(Optional.of(storedToken(LocalDateTime.now().plusDays(1))));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(activeUser()));
+        when(refreshTokenRepository.rotate(anyLong(), anyString(), anyString(), any(), any())).thenReturn(0);
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(TOKEN));
+        verify(refreshTokenRepository, never()).delete(any());
+    }
+
+    @Test
+    void replacedTokenWithinGraceIsRejectedWithoutRevoking() {
+        RefreshTokenEntity replaced = storedToken(LocalDateTime.now().plusDays(1));
+        replaced.setLastUsedAt(LocalDateTime.now().minusSeconds(2));
+        when(refreshTokenRepository.findByTokenHash(sha256(TOKEN))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByPreviousTokenHash(sha256(TOKEN))).thenReturn(Optional.of(replaced));
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(TOKEN));
+        verify(refreshTokenRepository, never()).delete(any());
+    }
+
+    @Test
+    void replacedTokenReusedAfterGraceRevokesTheSession() {
+        RefreshTokenEntity replaced = storedToken(LocalDateTime.now().plusDays(1));
+        replaced.setLastUsedAt(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(sha256(TOKEN))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByPreviousTokenHash(sha256(TOKEN))).thenReturn(Optional.of(replaced));
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(TOKEN));
+        verify(refreshTokenRepository).delete(replaced);
+    }
+
+    @Test
+    void inactiveUserIsRejectedAndTheTokenDeleted() {
+        RefreshTokenEntity entity = storedToken(LocalDateTime.now().plusDays(1));
+        UserEntity user = activeUser();
+        user.setIsActive(false);
+        when(refreshTokenRepository.findByTokenHash(sha256(TOKEN))).thenReturn(Optional.of(entity));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(TOKEN));
+        verify(refreshTokenRepository).delete(entity);
+        verify(refreshTokenRepository, never()).rotate(anyLong(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void revocationsSurviveTheRejection() throws NoSuchMethodException {
+        Transactional transactional = RefreshTokenService.class.getMethod("rotate", String.class)
+                .getAnnotation(Transactional.class);
+
+        assertTrue(List.of(transactional.noRollbackFor()).contains(UnauthorizedException.class));
+    }
+
+    private static RefreshTokenEntity storedToken(LocalDateTime expiresAt) {
+        RefreshTokenEntity entity = new RefreshTokenEntity();
+        entity.setId(1L);
+        entity.setUserId(7L);
+        entity.setDeviceId("phone");
+        entity.setTokenHash(sha256(TOKEN));
+        entity.setExpiresAt(expiresAt);
+        entity.setLastUsedAt(LocalDateTime.now());
+        return entity;
+    }
+
+    private static UserEntity activeUser() {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setIsActive(true);
+        return user;
+    }
+
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.arogyam.health;
+
+import com.arogyam.health.config.CacheConfig;
+import com.arogyam.health.config.ReplicaRoutingDataSource;
+import com.arogyam.health.event.DomainChangeEvent;
+import com.arogyam.health.repository.AlertRepository;
+import com.arogyam.health.repository.HealthReportRepository;
+import com.arogyam.health.repository.VillageRepository;
+import com.arogyam.health.repository.WaterQualityReportRepository;
+import com.arogyam.health.service.DashboardCacheEvictionListener;
+import com.arogyam.health.service.DashboardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final Statement lagStatement = mock(Statement.class);
+
+    @AfterEach
+    void clearTransactionState() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaWithinLagLimit() throws SQLException {
+        ReplicaRoutingDataSource routing = routingWithReplicaLag(0.5);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routingWithReplicaLag(30.0);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void replicaNotStreamingFallsBackToPrimary() throws SQLException {
+        // A disconnected WAL receiver has replayed all it received, so only the streaming check catches it
+        ReplicaRoutingDataSource routing = routingWithReplicaLag(null);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+        verify(lagStatement).executeQuery(argThat(sql -> sql.contains("pg_stat_wal_receiver")
+                && sql.contains("'streaming'")));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofSeconds(10));
+        routing.afterPropertiesSet();
+        routing.checkReplicationLag();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void villageWritesHoldReadsOnPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routingWithReplicaLag(0.5);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        routing.onDomainChange(new DomainChangeEvent(DomainChangeEvent.Type.HEALTH_REPORT, Set.of(1L), Set.of(), false));
+        assertSame(replicaConnection, routing.getConnection());
+
+        // Hibernate's village caches would otherwise refill from a replica without the write
+        routing.onDomainChange(new DomainChangeEvent(DomainChangeEvent.Type.VILLAGE, Set.of(1L), Set.of(), false));
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void dashboardRefillAfterEvictionReadsThePrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routingWithReplicaLag(0.5);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        HealthReportRepository healthReportRepository = mock(HealthReportRepository.class);
+        List<Connection> used = new ArrayList<>();
+        when(healthReportRepository.findReportsBetweenDates(any(), any())).thenAnswer(invocation -> {
+            used.add(((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection());
+            return List.of();
+        });
+
+        new ApplicationContextRunner()
+                .withUserConfiguration(CachingConfig.class, DashboardService.class, DashboardCacheEvictionListener.class)
+                .withBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(dataSource))
+                .withBean(CacheManager.class, () -> new CaffeineCacheManager(CacheConfig.DISTRICT_STATISTICS,
+                        CacheConfig.VILLAGE_STATISTICS, CacheConfig.HEALTH_TRENDS))
+                .withBean(HealthReportRepository.class, () -> healthReportRepository)
+                .withBean(WaterQualityReportRepository.class, () -> mock(WaterQualityReportRepository.class))
+                .withBean(VillageRepository.class, () -> mock(VillageRepository.class))
+                .withBean(AlertRepository.class, () -> mock(AlertRepository.class))
+                .run(context -> {
+                    DashboardService dashboardService = context.getBean(DashboardService.class);
+
+                    // Uncached reads still go to the replica
+                    dashboardService.getOverviewStatistics();
+                    dashboardService.getHealthTrends(7, null);
+                    context.getBean(DashboardCacheEvictionListener.class).onDomainChange(
+                            new DomainChangeEvent(DomainChangeEvent.Type.HEALTH_REPORT, Set.of(1L), Set.of("Kamrup"), false));
+                    dashboardService.getHealthTrends(7, null);
+
+                    verify(healthReportRepository, times(3)).findReportsBetweenDates(any(), any());
+                    assertEquals(List.of(replicaConnection, primaryConnection, primaryConnection), used);
+                });
+    }
+
+    @Configuration
+    @EnableCaching
+    @EnableTransactionManagement
+    static class CachingConfig {
+    }
+
+    // A null lag is what the lag query returns for a replica that is not streaming
+    private ReplicaRoutingDataSource routingWithReplicaLag(Double lagSeconds) throws SQLException {
+        Connection lagConnection = mock(Connection.class);
+        ResultSet result = mock(ResultSet.class);
+        when(lagConnection.createStatement()).thenReturn(lagStatement);
+        when(lagStatement.executeQuery(anyString())).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getDouble(1)).thenReturn(lagSeconds != null ? lagSeconds : 0);
+        when(result.wasNull()).thenReturn(lagSeconds == null);
+
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(lagConnection, replicaConnection);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofSeconds(10));
+        routing.afterPropertiesSet();
+        routing.checkReplicationLag();
+        return routing;
+    }
+}
@@ -0,0 +1,107 @@
+package com.arogyam.health;
+
+import com.arogyam.health.config.ResponseEncodingConfig;
+import com.arogyam.health.dto.ApiResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Negotiation and equivalence of the compact encodings. Size and latency per format are measured
+// against a running instance with scripts/encoding-benchmark.sh.
+class ResponseEncodingTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class))
+            .withUserConfiguration(ResponseEncodingConfig.class);
+
+    @Test
+    void compactFormatsAreNegotiable() {
+        contextRunner.run(context -> {
+            List<MediaType> supported = context.getBean(HttpMessageConverters.class).getConverters().stream()
+                    .flatMap(converter -> converter.getSupportedMediaTypes().stream())
+                    .toList();
+
+            assertTrue(supported.contains(MediaType.APPLICATION_CBOR));
+            assertTrue(supported.contains(MediaType.valueOf("application/x-jackson-smile")));
+        });
+    }
+
+    @Test
+    void compactFormatsEncodeTheSameDocumentAsJson() {
+        ApiResponseDto<List<Map<String, Object>>> response =
+                ApiResponseDto.success("Water source status retrieved successfully", sampleSources(500));
+
+        contextRunner.run(context -> {
+            HttpMessageConverters converters = context.getBean(HttpMessageConverters.class);
+            ObjectMapper json = mapper(converters, MappingJackson2HttpMessageConverter.class);
+            ObjectMapper cbor = mapper(converters, MappingJackson2CborHttpMessageConverter.class);
+            ObjectMapper smile = mapper(converters, MappingJackson2SmileHttpMessageConverter.class);
+
+            byte[] jsonBytes = json.writeValueAsBytes(response);
+            byte[] cborBytes = cbor.writeValueAsBytes(response);
+            byte[] smileBytes = smile.writeValueAsBytes(response);
+
+            // Same tree whichever way it was encoded, timestamps included
+            JsonNode expected = json.readTree(jsonBytes);
+            assertTrue(expected.at("/data/0/testDate").isTextual());
+            assertEquals(expected, cbor.readTree(cborBytes));
+            assertEquals(expected, smile.readTree(smileBytes));
+
+            assertTrue(cborBytes.length < jsonBytes.length);
+            assertTrue(smileBytes.length < jsonBytes.length);
+        });
+    }
+
+    private static ObjectMapper mapper(HttpMessageConverters converters,
+                                       Class<? extends AbstractJackson2HttpMessageConverter> type) throws IOException {
+        return converters.getConverters().stream()
+                .filter(type::isInstance)
+                .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow(() -> new IOException("No converter of type " + type.getSimpleName()));
+    }
+
+    private static List<Map<String, Object>> sampleSources(int count) {
+        String[] statuses = {"SAFE", "MODERATE_RISK", "HIGH_RISK", "CONTAMINATED"};
+        String[] types = {"WELL", "TUBE_WELL", "POND", "RIVER", "TAP_WATER"};
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 30);
+        List<Map<String, Object>> sources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> source = new LinkedHashMap<>();
+            source.put("reportId", 10_000L + i);
+            source.put("villageId", 100L + i / 5);
+            source.put("villageName", "Village " + (i / 5));
+            source.put("district", "District " + (i % 7));
+            source.put("sourceName", "Source " + i);
+            source.put("sourceType", types[i % types.length]);
+            source.put("qualityStatus", statuses[i % statuses.length]);
+            source.put("phLevel", 6.5 + (i % 20) / 10.0);
+            source.put("turbidity", 1.0 + (i % 50) / 10.0);
+            source.put("bacterialCount", i % 30);
+            source.put("testDate", base.minusHours(i * 3L));
+            sources.add(source);
+        }
+        return sources;
+    }
+}
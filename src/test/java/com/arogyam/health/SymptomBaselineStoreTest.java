@@ -0,0 +1,60 @@
+package com.arogyam.health;
+
+import com.arogyam.health.service.SymptomBaselineStore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymptomBaselineStoreTest {
+
+    private static final int DAY = 20000;
+
+    private SymptomBaselineStore warmedUp(double caseUnit, long dailyCases) {
+        SymptomBaselineStore store = new SymptomBaselineStore(0.1, 0.5, 5.0, 3.0, 14);
+        int slot = store.slot(1L, "fever");
+        for (int d = 0; d < 30; d++) {
+            store.observe(slot, DAY + d, dailyCases * caseUnit, caseUnit);
+        }
+        return store;
+    }
+
+    @Test
+    void scoreIsNotAvailableBeforeWarmUp() {
+        SymptomBaselineStore store = new SymptomBaselineStore(0.1, 0.5, 5.0, 3.0, 14);
+        int slot = store.slot(1L, "fever");
+        store.observe(slot, DAY, 1.0, 1.0);
+
+        assertTrue(Double.isNaN(store.score(slot, 5.0, 1.0)));
+        assertTrue(Double.isNaN(store.score(store.find(2L, "fever"), 5.0, 1.0)));
+    }
+
+    @Test
+    void usualCountsInLargeVillageDoNotAlarm() {
+        // 20 cases a day is normal for a village of 20000
+        double caseUnit = 1000.0 / 20000;
+        SymptomBaselineStore store = warmedUp(caseUnit, 20);
+
+        assertTrue(store.score(store.find(1L, "fever"), 20 * caseUnit, caseUnit) < 0.2);
+    }
+
+    @Test
+    void spikeInSmallVillageAlarms() {
+        // 3 cases in a village of 300 that normally sees none
+        double caseUnit = 1000.0 / 300;
+        SymptomBaselineStore store = warmedUp(caseUnit, 0);
+
+        assertEquals(1.0, store.score(store.find(1L, "fever"), 3 * caseUnit, caseUnit));
+    }
+
+    @Test
+    void replayedDayIsIgnored() {
+        SymptomBaselineStore store = new SymptomBaselineStore(0.1, 0.5, 5.0, 3.0, 1);
+        int slot = store.slot(1L, "fever");
+        store.observe(slot, DAY, 2.0, 1.0);
+        store.observe(slot, DAY, 50.0, 1.0);
+
+        assertEquals(1, store.observedDays(slot));
+        assertEquals(2.0, store.mean(slot), 1e-9);
+    }
+}